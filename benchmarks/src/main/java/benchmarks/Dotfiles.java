@@ -0,0 +1,28 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import inputoutput.InputReader;
+
+/**
+ * Reads the input graphs of the scheduler's test suite. The directory defaults to the one next to this
+ * module and can be changed with -Ddotfiles.dir, BenchmarkRunner passes it on to forked benchmark JVMs.
+ */
+final class Dotfiles {
+
+	static final String DIRECTORY_PROPERTY = "dotfiles.dir";
+	static final String DEFAULT_DIRECTORY = "../src/test/resources/dotfiles/input";
+
+	private Dotfiles() {}
+
+	static String getDirectory() {
+		return System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY);
+	}
+
+	static InputReader read(String fileName) throws IOException {
+		InputReader reader = new InputReader();
+		reader.readFile(new File(getDirectory(), fileName));
+		return reader;
+	}
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import java.io.IOException;
+
+import models.NodeTuple;
+import models.TaskGraph;
+import scheduler.ProcessorAllocator;
+import scheduler.ProcessorAllocatorInterface;
+import scheduler.ValidNodeFinder;
+import scheduler.ValidNodeFinderInterface;
+
+/**
+ * A graph with half of its nodes placed greedily, the point in the search where the ready set and
+ * the processors are typically at their busiest.
+ */
+final class PartialSchedule {
+
+	final TaskGraph graph;
+	final NodeTuple[] scheduleInfo;
+	final ValidNodeFinderInterface nodeFinder;
+	final ProcessorAllocatorInterface processorAllocator;
+
+	PartialSchedule(String fileName, int numProcessors) throws IOException {
+		graph = new TaskGraph(Dotfiles.read(fileName).getNodeList());
+		scheduleInfo = new NodeTuple[graph.getNumberNodes()];
+		for (int i = 0; i < scheduleInfo.length; i++) {
+			scheduleInfo[i] = new NodeTuple();
+		}
+
+		nodeFinder = new ValidNodeFinder();
+		nodeFinder.addGraph(graph);
+		nodeFinder.addNodeInfo(scheduleInfo);
+		processorAllocator = new ProcessorAllocator(numProcessors);
+		processorAllocator.addGraph(graph);
+		processorAllocator.addNodeInfo(scheduleInfo);
+
+		for (int i = 0; i < graph.getNumberNodes() / 2; i++) {
+			int node = nodeFinder.getReadyNode(0);
+			processorAllocator.allocateProcessor(node);
+			nodeFinder.addScheduledNode(node);
+		}
+	}
+}
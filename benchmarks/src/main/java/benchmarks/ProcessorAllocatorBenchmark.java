@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.NodeTuple;
+
+/**
+ * Branching a ready node over every processor of a half built schedule, the way the search tries
+ * each placement of a node before moving on to the next candidate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessorAllocatorBenchmark {
+
+	@Param({"Nodes_10_Random.dot", "Nodes_11_OutTree.dot"})
+	String graph;
+
+	@Param({"2", "4"})
+	int processors;
+
+	PartialSchedule schedule;
+	int node;
+
+	@Setup
+	public void setUp() throws IOException {
+		schedule = new PartialSchedule(graph, processors);
+		node = schedule.nodeFinder.getReadyNode(0);
+	}
+
+	@Benchmark
+	public int allocateProcessor() {
+		NodeTuple tuple = schedule.scheduleInfo[node];
+		int startTimes = 0;
+		while (schedule.processorAllocator.allocateProcessor(node)) {
+			startTimes += tuple.getStartTime();
+			schedule.processorAllocator.removeFromProcessor(node, tuple.getProcessor());
+		}
+		tuple.resetCheckedProcessors();
+		tuple.setHasRun(false);
+		return startTimes;
+	}
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Processor;
+
+/**
+ * Pushing and popping placements on a processor, as the search does on every descent and backtrack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessorBenchmark {
+
+	@Param({"16", "64"})
+	int depth;
+
+	Processor processor;
+
+	@Setup
+	public void setUp() {
+		processor = new Processor(depth);
+	}
+
+	@Benchmark
+	public int addRemoveNodes() {
+		for (int node = 0; node < depth; node++) {
+			processor.addNode(node, processor.getEndTime(), 3);
+		}
+		int endTime = processor.getEndTime();
+		for (int node = depth - 1; node >= 0; node--) {
+			processor.removeNode(node);
+		}
+		return endTime;
+	}
+}
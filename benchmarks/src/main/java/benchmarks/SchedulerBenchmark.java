@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import inputoutput.InputReader;
+import models.Edge;
+import models.Node;
+import scheduler.DepthFirst_BaB_Scheduler;
+import scheduler.MasterScheduler;
+import scheduler.MasterSchedulerInterface;
+import scheduler.ProcessorAllocator;
+import scheduler.ValidNodeFinder;
+
+/**
+ * End to end solves of the test suite graphs, the sequential depth first scheduler against the
+ * parallel one. Each solve starts from freshly created schedulers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+	@Param({"Nodes_7_OutTree.dot", "Nodes_8_Random.dot", "Nodes_9_SeriesParallel.dot", "Nodes_10_Random.dot",
+			"Nodes_11_OutTree.dot"})
+	String graph;
+
+	@Param({"2", "4"})
+	int processors;
+
+	// Worker threads of the parallel scheduler
+	@Param({"4"})
+	int threads;
+
+	List<Node> nodeList;
+	List<Edge> edgeList;
+
+	@Setup
+	public void setUp() throws IOException {
+		InputReader reader = Dotfiles.read(graph);
+		nodeList = reader.getNodeList();
+		edgeList = reader.getEdgeList();
+	}
+
+	@Benchmark
+	public int depthFirst() {
+		DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(), new ProcessorAllocator(processors));
+		scheduler.createSchedule(nodeList, edgeList);
+		return scheduler.getScheduleLength();
+	}
+
+	@Benchmark
+	public int masterScheduler() {
+		MasterSchedulerInterface scheduler = MasterScheduler.getInstance(threads, processors);
+		scheduler.createSchedule(nodeList, edgeList);
+		return scheduler.getScheduleLength();
+	}
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Node;
+
+/**
+ * Finding the nodes to branch on from a half built schedule, through the list returning methods and
+ * the allocation free one the depth first searches use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidNodeFinderBenchmark {
+
+	@Param({"Nodes_10_Random.dot", "Nodes_11_OutTree.dot"})
+	String graph;
+
+	PartialSchedule schedule;
+	int[] candidates;
+
+	@Setup
+	public void setUp() throws IOException {
+		schedule = new PartialSchedule(graph, 2);
+		candidates = new int[schedule.graph.getNumberNodes()];
+	}
+
+	@Benchmark
+	public List<Node> findSatisfiedNodes() {
+		return schedule.nodeFinder.findSatisfiedNodes();
+	}
+
+	@Benchmark
+	public List<Node> findSchedulableNodes() {
+		return schedule.nodeFinder.findSchedulableNodes();
+	}
+
+	@Benchmark
+	public int findSchedulableNodesInto() {
+		return schedule.nodeFinder.findSchedulableNodes(candidates, 0);
+	}
+}
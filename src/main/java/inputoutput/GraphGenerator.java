@@ -0,0 +1,386 @@
+package inputoutput;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * GraphGenerator creates seeded synthetic task graphs from the families of the test graphs, at any size,
+ * and writes them as .dot files InputReader can read. The same settings and seed always give the same file.
+ * <p>
+ * Node weights are drawn from a weight distribution. Edge costs are drawn uniformly and then scaled so the
+ * total communication cost is the communication to computation ratio (CCR) times the total node weight.
+ * <p>
+ * Usage: GraphGenerator FAMILY NUM_NODES OUTPUT_FILE [-s SEED] [-c CCR] [-w constant|uniform|bimodal]
+ * [--min-weight W] [--max-weight W] [-d DENSITY]
+ */
+public class GraphGenerator {
+
+    public enum Family {
+        OUT_TREE("OutTree"), IN_TREE("InTree"), FORK_JOIN("ForkJoin"), STENCIL("Stencil"), PIPELINE("Pipeline"),
+        SERIES_PARALLEL("SeriesParallel"), RANDOM("Random");
+
+        private final String name;
+
+        Family(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public enum WeightDistribution {
+        // Every node has the maximum weight
+        CONSTANT("Constant"),
+        // Weights spread evenly between the minimum and maximum
+        UNIFORM("Random"),
+        // Mostly light nodes with a few heavy ones, from the bottom and top quarters of the range
+        BIMODAL("Bimodal");
+
+        private final String name;
+
+        WeightDistribution(String name) {
+            this.name = name;
+        }
+    }
+
+    // Share of nodes drawn from the heavy end of a bimodal distribution
+    private static final double HEAVY_SHARE = 0.2;
+    // Range of the unscaled edge costs
+    private static final int MAX_RAW_EDGE_COST = 10;
+
+    private final Family family;
+    private final int numNodes;
+    private final long seed;
+
+    private double ccr = 1.0;
+    private WeightDistribution weightDistribution = WeightDistribution.UNIFORM;
+    private int minWeight = 1;
+    private int maxWeight = 10;
+    // Edges per node of random graphs
+    private double density = 2.0;
+
+    private Random random;
+    private int[] weights;
+    private List<int[]> edges;
+
+    public GraphGenerator(Family family, int numNodes, long seed) {
+        if (numNodes < 1) {
+            throw new IllegalArgumentException("Error: a graph needs at least one node");
+        }
+        this.family = family;
+        this.numNodes = numNodes;
+        this.seed = seed;
+    }
+
+    public void setCcr(double ccr) {
+        this.ccr = ccr;
+    }
+
+    public void setWeightDistribution(WeightDistribution weightDistribution) {
+        this.weightDistribution = weightDistribution;
+    }
+
+    public void setWeightRange(int minWeight, int maxWeight) {
+        if (minWeight < 1 || maxWeight < minWeight) {
+            throw new IllegalArgumentException("Error: invalid weight range " + minWeight + " to " + maxWeight);
+        }
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    public void setDensity(double density) {
+        this.density = density;
+    }
+
+    public String getName() {
+        return String.format(Locale.ROOT, "%s_Nodes_%d_CCR_%.2f_WeightType_%s_Seed_%d", family.getName(), numNodes, ccr,
+                weightDistribution.name, seed);
+    }
+
+    /*
+     * Generates the graph and returns it in .dot format, nodes are listed before any edge
+     */
+    public String createDot() {
+        generate();
+
+        StringBuilder dot = new StringBuilder();
+        dot.append("digraph \"").append(getName()).append("\" {\n");
+        for (int i = 0; i < numNodes; i++) {
+            dot.append('\t').append(i).append("\t [Weight=").append(weights[i]).append("];\n");
+        }
+        for (int[] edge : edges) {
+            dot.append('\t').append(edge[0]).append(" -> ").append(edge[1]).append("\t [Weight=").append(edge[2]).append("];\n");
+        }
+        dot.append("}\n");
+        return dot.toString();
+    }
+
+    public void writeFile(File file) throws FileNotFoundException, UnsupportedEncodingException {
+        PrintWriter writer = new PrintWriter(file, "UTF-8");
+        try {
+            writer.print(createDot());
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void generate() {
+        random = new Random(seed);
+        edges = new ArrayList<int[]>();
+
+        switch (family) {
+            case OUT_TREE:
+                createOutTree();
+                break;
+            case IN_TREE:
+                createInTree();
+                break;
+            case FORK_JOIN:
+                createForkJoin();
+                break;
+            case STENCIL:
+                createStencil();
+                break;
+            case PIPELINE:
+                createPipeline();
+                break;
+            case SERIES_PARALLEL:
+                createSeriesParallel();
+                break;
+            case RANDOM:
+                createRandom();
+                break;
+        }
+
+        weights = new int[numNodes];
+        int totalWeight = 0;
+        for (int i = 0; i < numNodes; i++) {
+            weights[i] = createWeight();
+            totalWeight += weights[i];
+        }
+        createEdgeCosts(totalWeight);
+
+        Collections.sort(edges, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] e1, int[] e2) {
+                return e1[0] != e2[0] ? Integer.compare(e1[0], e2[0]) : Integer.compare(e1[1], e2[1]);
+            }
+        });
+    }
+
+    // Each node after the first hangs off a random earlier node
+    private void createOutTree() {
+        for (int i = 1; i < numNodes; i++) {
+            addEdge(random.nextInt(i), i);
+        }
+    }
+
+    // An out-tree with every edge reversed, so all paths lead to a single sink
+    private void createInTree() {
+        for (int i = 1; i < numNodes; i++) {
+            addEdge(numNodes - 1 - i, numNodes - 1 - random.nextInt(i));
+        }
+    }
+
+    // A chain of fork and join stages, each fork spreading to a random number of parallel tasks
+    private void createForkJoin() {
+        int maxWidth = Math.max(2, (int) Math.sqrt(numNodes));
+        int fork = 0;
+        int next = 1;
+        while (numNodes - next >= 2) {
+            int width = Math.min(2 + random.nextInt(maxWidth - 1), numNodes - next - 1);
+            int join = next + width;
+            for (int task = next; task < join; task++) {
+                addEdge(fork, task);
+                addEdge(task, join);
+            }
+            fork = join;
+            next = join + 1;
+        }
+        if (next < numNodes) {
+            addEdge(fork, next);
+        }
+    }
+
+    // Rows of a grid, each node depending on its three neighbours in the row above
+    private void createStencil() {
+        int width = Math.max(1, (int) Math.sqrt(numNodes));
+        for (int i = width; i < numNodes; i++) {
+            int column = i % width;
+            for (int c = Math.max(0, column - 1); c <= Math.min(width - 1, column + 1); c++) {
+                addEdge(i - column - width + c, i);
+            }
+        }
+    }
+
+    // Parallel lanes between a source and a sink, each stage of a lane also feeding the next lane
+    private void createPipeline() {
+        if (numNodes < 3) {
+            createOutTree();
+            return;
+        }
+        int sink = numNodes - 1;
+        int width = Math.max(2, (int) Math.sqrt(numNodes - 2));
+        for (int i = 1; i < sink; i++) {
+            int stage = (i - 1) / width;
+            int lane = (i - 1) % width;
+            if (stage == 0) {
+                addEdge(0, i);
+            } else {
+                addEdge(i - width, i);
+                if (lane > 0) {
+                    addEdge(i - width - 1, i);
+                }
+            }
+            // Nodes without a successor in the next stage end at the sink
+            if (i + width >= sink) {
+                addEdge(i, sink);
+            }
+        }
+    }
+
+    // Grows a two terminal series-parallel graph from a single edge, each new node either splitting an edge
+    // in series or running in parallel with an existing inner node
+    private void createSeriesParallel() {
+        if (numNodes < 2) {
+            return;
+        }
+        List<int[]> innerEdges = new ArrayList<int[]>();
+        innerEdges.add(new int[]{0, numNodes - 1});
+        for (int node = 1; node < numNodes - 1; node++) {
+            if (node == 1 || random.nextBoolean()) {
+                // Series, replace u -> v with u -> node -> v
+                int index = random.nextInt(innerEdges.size());
+                int[] edge = innerEdges.get(index);
+                innerEdges.set(index, new int[]{edge[0], node});
+                innerEdges.add(new int[]{node, edge[1]});
+            } else {
+                // Parallel, a copy of an inner node between one of its parents and one of its children
+                int sibling = 1 + random.nextInt(node - 1);
+                innerEdges.add(new int[]{pickNeighbour(innerEdges, sibling, 1, 0), node});
+                innerEdges.add(new int[]{node, pickNeighbour(innerEdges, sibling, 0, 1)});
+            }
+        }
+        for (int[] edge : innerEdges) {
+            addEdge(edge[0], edge[1]);
+        }
+    }
+
+    // Random neighbour of a node, the other end of an edge with the node at the given end
+    private int pickNeighbour(List<int[]> edgeList, int node, int end, int otherEnd) {
+        List<Integer> neighbours = new ArrayList<Integer>();
+        for (int[] edge : edgeList) {
+            if (edge[end] == node) {
+                neighbours.add(edge[otherEnd]);
+            }
+        }
+        return neighbours.get(random.nextInt(neighbours.size()));
+    }
+
+    // Each forward pair of nodes is joined with the probability giving the requested edges per node
+    private void createRandom() {
+        if (numNodes < 2) {
+            return;
+        }
+        double probability = Math.min(1.0, 2 * density / (numNodes - 1));
+        for (int i = 0; i < numNodes; i++) {
+            for (int j = i + 1; j < numNodes; j++) {
+                if (random.nextDouble() < probability) {
+                    addEdge(i, j);
+                }
+            }
+        }
+    }
+
+    private int createWeight() {
+        switch (weightDistribution) {
+            case CONSTANT:
+                return maxWeight;
+            case BIMODAL:
+                int quarter = (maxWeight - minWeight) / 4;
+                if (random.nextDouble() < HEAVY_SHARE) {
+                    return maxWeight - random.nextInt(quarter + 1);
+                }
+                return minWeight + random.nextInt(quarter + 1);
+            default:
+                return minWeight + random.nextInt(maxWeight - minWeight + 1);
+        }
+    }
+
+    // Scales random edge costs so they total the CCR times the total node weight
+    private void createEdgeCosts(int totalWeight) {
+        int totalRawCost = 0;
+        for (int[] edge : edges) {
+            edge[2] = 1 + random.nextInt(MAX_RAW_EDGE_COST);
+            totalRawCost += edge[2];
+        }
+        double scale = totalRawCost == 0 ? 0 : ccr * totalWeight / totalRawCost;
+        for (int[] edge : edges) {
+            edge[2] = (int) Math.round(edge[2] * scale);
+        }
+    }
+
+    private void addEdge(int from, int to) {
+        edges.add(new int[]{from, to, 0});
+    }
+
+    public static void main(String[] args) throws FileNotFoundException, UnsupportedEncodingException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Error: Not enough parameters. Please use the following argument format: "
+                    + "<family> <number of nodes> <output-file-path> <optional flags>");
+        }
+
+        Family family = Family.valueOf(args[0].toUpperCase(Locale.ROOT).replace('-', '_'));
+        int numNodes = Integer.parseInt(args[1]);
+        File outputFile = new File(args[2]);
+
+        long seed = 0;
+        double ccr = 1.0;
+        double density = 2.0;
+        WeightDistribution weightDistribution = WeightDistribution.UNIFORM;
+        int minWeight = 1;
+        int maxWeight = 10;
+
+        for (int i = 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "-s":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "-c":
+                    ccr = Double.parseDouble(args[++i]);
+                    break;
+                case "-w":
+                    weightDistribution = WeightDistribution.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    break;
+                case "--min-weight":
+                    minWeight = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-weight":
+                    maxWeight = Integer.parseInt(args[++i]);
+                    break;
+                case "-d":
+                    density = Double.parseDouble(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Error: unknown flag " + args[i]);
+            }
+        }
+
+        GraphGenerator generator = new GraphGenerator(family, numNodes, seed);
+        generator.setCcr(ccr);
+        generator.setWeightDistribution(weightDistribution);
+        generator.setWeightRange(minWeight, maxWeight);
+        generator.setDensity(density);
+        generator.writeFile(outputFile);
+    }
+}
@@ -5,6 +5,7 @@ import models.Node;
 import models.NodeTuple;
 
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -22,12 +23,15 @@ public class OutputWriter {
     public void writeFile(List<Node> nodes, HashMap<String, NodeTuple> nodeInfo, List<Edge> scheduleEdges, String outputFileName) {
 
         try {
-            //Get working directory
-            String dir = System.getProperty("user.dir");
+            //Relative names are in the working directory
+            File outputFile = new File(outputFileName + ".dot");
+            if (!outputFile.isAbsolute()) {
+                outputFile = new File(System.getProperty("user.dir"), outputFileName + ".dot");
+            }
 
             //Instantiate PrintWriter object to create and write to file. Set encoding to UTF-8
-            PrintWriter writer = new PrintWriter(dir + "/" + outputFileName + ".dot", "UTF-8");
-            writer.println("digraph \"" + outputFileName + "\" {");
+            PrintWriter writer = new PrintWriter(outputFile, "UTF-8");
+            writer.println("digraph \"" + new File(outputFileName).getName() + "\" {");
 
             //iterate through list and print
             for (int i = 0; i < nodes.size(); i++) {
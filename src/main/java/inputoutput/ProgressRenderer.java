@@ -0,0 +1,152 @@
+package inputoutput;
+
+import models.NodeTuple;
+import models.TaskGraph;
+import scheduler.SearchProgress;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * ProgressRenderer prints a live view of a running search to the console. A daemon thread samples the
+ * search's SearchProgress at a fixed rate, so the search itself never waits on the console. Each frame
+ * shows the best schedule length, the lower bound, the states expanded per second, each worker's
+ * activity and a Gantt chart of the best schedule.
+ */
+public class ProgressRenderer implements Runnable {
+
+    public static final int DEFAULT_REFRESH_MILLIS = 500;
+
+    // Width of the Gantt chart in characters
+    private static final int CHART_WIDTH = 60;
+    // Clears the terminal and moves the cursor to the top left
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+
+    private final SearchProgress progress;
+    private final PrintStream out;
+    private final int refreshMillis;
+    private final boolean clearScreen;
+    private Thread thread;
+
+    // States and time of the previous frame, for the rate since then
+    private long[] lastStates;
+    private long lastTime;
+
+    public ProgressRenderer(SearchProgress progress, PrintStream out, int refreshMillis) {
+        this.progress = progress;
+        this.out = out;
+        this.refreshMillis = refreshMillis;
+        // Only redraw in place on an interactive terminal, elsewhere frames are appended
+        this.clearScreen = System.console() != null;
+    }
+
+    public void start() {
+        lastStates = new long[progress.getNumberWorkers()];
+        lastTime = System.nanoTime();
+        thread = new Thread(this, "progress-renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /*
+     * Stops sampling and prints the final state of the search
+     */
+    public void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        render();
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(refreshMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            render();
+        }
+    }
+
+    private synchronized void render() {
+        TaskGraph graph = progress.getGraph();
+        if (graph == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        double seconds = Math.max(now - lastTime, 1) / 1e9;
+        lastTime = now;
+
+        StringBuilder frame = new StringBuilder();
+        if (clearScreen) {
+            frame.append(CLEAR_SCREEN);
+        }
+
+        int length = progress.getScheduleLength();
+        int lowerBound = Math.min(progress.getLowerBound(), length);
+        double gap = length == 0 ? 0 : 100.0 * (length - lowerBound) / length;
+        long totalRate = 0;
+        long[] rates = new long[lastStates.length];
+        for (int i = 0; i < rates.length; i++) {
+            long states = progress.getStates(i);
+            rates[i] = (long) ((states - lastStates[i]) / seconds);
+            lastStates[i] = states;
+            totalRate += rates[i];
+        }
+
+        frame.append(String.format(Locale.ROOT, "%s %.1fs  best %d  lower bound %d  gap %.2f%%  %,d states/s%n",
+                progress.isFinished() ? "Finished" : "Searching", progress.getElapsedMillis() / 1000.0, length,
+                lowerBound, gap, totalRate));
+
+        for (int i = 0; i < rates.length; i++) {
+            frame.append(String.format(Locale.ROOT, "  worker %-3d %-6s %,14d states/s %,16d states%n", i + 1,
+                    progress.isBusy(i) ? "busy" : "idle", rates[i], progress.getStates(i)));
+        }
+
+        NodeTuple[] schedule = progress.getSchedule();
+        if (schedule != null) {
+            appendGanttChart(frame, graph, schedule, progress.getNumberProcessors(), length);
+        }
+        out.print(frame);
+        out.flush();
+    }
+
+    /*
+     * One row per processor scaled to the schedule length, each node is its name followed by = for
+     * the rest of its run, cut short if the run is too short to hold the name
+     */
+    private static void appendGanttChart(StringBuilder frame, TaskGraph graph, NodeTuple[] schedule, int numProcessors,
+                                         int length) {
+        char[][] rows = new char[numProcessors][CHART_WIDTH];
+        for (char[] row : rows) {
+            Arrays.fill(row, ' ');
+        }
+        double scale = (double) CHART_WIDTH / Math.max(length, 1);
+        for (int i = 0; i < schedule.length; i++) {
+            int processor = schedule[i].getProcessor();
+            if (processor < 1 || processor > numProcessors) {
+                continue;
+            }
+            int start = Math.min((int) (schedule[i].getStartTime() * scale), CHART_WIDTH - 1);
+            int end = Math.max(start + 1, Math.min((int) ((schedule[i].getStartTime() + graph.getWeight(i)) * scale), CHART_WIDTH));
+            char[] row = rows[processor - 1];
+            String name = graph.getNode(i).getName();
+            for (int c = start; c < end; c++) {
+                row[c] = c - start < name.length() ? name.charAt(c - start) : '=';
+            }
+        }
+        for (int p = 0; p < numProcessors; p++) {
+            frame.append(String.format(Locale.ROOT, "  P%-3d|", p + 1)).append(rows[p]).append("|\n");
+        }
+        frame.append(String.format(Locale.ROOT, "      0%" + CHART_WIDTH + "d%n", length));
+    }
+}
@@ -2,6 +2,7 @@ package main;
 
 import inputoutput.InputReader;
 import inputoutput.OutputWriter;
+import inputoutput.ProgressRenderer;
 import models.Edge;
 import models.Node;
 import models.NodeTuple;
@@ -19,8 +20,15 @@ import java.util.List;
  *         Main is the entry point for the program and takes the arguments: <input-file> <num processors> <optional flags>
  *         in that order. Flags that can be used:
  *         -o OUTPUT_NAME	manually specify output file name
- *         -v	enable visualisation
+ *         -v	show the progress of the search live on the console
  *         -p	enable parallelisation
+ *         -m MEGABYTES	memory cap of the transposition table, 0 disables it
+ *         -a	use the A* scheduler instead of depth first branch and bound
+ *         -i	use the iterative deepening scheduler instead of depth first branch and bound
+ *         --time-limit SECONDS	stop after this long with the best schedule found, reporting how far from optimal it may be
+ *         --stats	print statistics of the search as JSON
+ *         --checkpoint FILE	save the search to FILE periodically and when stopped, resuming from FILE if it exists
+ *         --checkpoint-interval SECONDS	time between checkpoints, 60 by default
  */
 
 public class Main {
@@ -42,10 +50,17 @@ public class Main {
         boolean hasOutputName = false;
         boolean visualisation = false;
         boolean parallelisation = false;
+        boolean aStar = false;
+        boolean iterativeDeepening = false;
 
         String outputFile = "";
         int numProcessors;
         int numCores = 1;
+        int transpositionTableSize = TranspositionTable.DEFAULT_SIZE_MB;
+        long timeLimit = 0;
+        SearchStatistics statistics = null;
+        String checkpointFile = null;
+        long checkpointInterval = SearchCheckpoint.DEFAULT_INTERVAL_MILLIS;
 
 
         // If there are extra parameters specified
@@ -67,6 +82,27 @@ public class Main {
 
                             numCores = Integer.parseInt(args[i + 1]);
                             break;
+                        case "-a":
+                            aStar = true;
+                            break;
+                        case "-i":
+                            iterativeDeepening = true;
+                            break;
+                        case "-m":
+                            transpositionTableSize = Integer.parseInt(args[i + 1]);
+                            break;
+                        case "--stats":
+                            statistics = new SearchStatistics();
+                            break;
+                        case "--time-limit":
+                            timeLimit = (long) (Double.parseDouble(args[i + 1]) * 1000);
+                            break;
+                        case "--checkpoint":
+                            checkpointFile = args[i + 1];
+                            break;
+                        case "--checkpoint-interval":
+                            checkpointInterval = (long) (Double.parseDouble(args[i + 1]) * 1000);
+                            break;
                     }
                 }
 
@@ -96,32 +132,112 @@ public class Main {
             throw new IllegalArgumentException("Error: invalid input .dot file or location/filepath");
         }
         
+        if (aStar && iterativeDeepening) {
+            throw new IllegalArgumentException("Error: -a and -i choose different schedulers, use only one of them");
+        }
+        if (parallelisation && (aStar || iterativeDeepening)) {
+            throw new IllegalArgumentException("Error: -p is only supported by the depth first scheduler, not with -a or -i");
+        }
+        if (aStar && statistics != null) {
+            throw new IllegalArgumentException("Error: --stats is not supported by the A* scheduler, not with -a");
+        }
+
+        // A search saved by an earlier run of the same graph is resumed
+        SearchCheckpoint checkpoint = null;
+        if (checkpointFile != null) {
+            if (aStar || iterativeDeepening) {
+                throw new IllegalArgumentException("Error: --checkpoint is only supported by the depth first schedulers, not with -a or -i");
+            }
+            checkpoint = new SearchCheckpoint(new File(checkpointFile), checkpointInterval);
+            try {
+                checkpoint.read();
+            } catch (IOException io) {
+                throw new IllegalArgumentException("Error: invalid checkpoint file " + checkpointFile);
+            }
+        }
+        
         ValidNodeFinderInterface validNodeFinder = new ValidNodeFinder();
         ProcessorAllocatorInterface processorAllocator = new ProcessorAllocator(numProcessors);
+        AnytimeSchedulerInterface anytimeScheduler;
+        
+        // Schedulers publish snapshots of the search, which the renderer samples on its own thread
+        SearchProgress progress = null;
+        ProgressRenderer progressRenderer = null;
+        if (visualisation) {
+            progress = new SearchProgress(parallelisation ? numCores : 1);
+            progressRenderer = new ProgressRenderer(progress, System.out, ProgressRenderer.DEFAULT_REFRESH_MILLIS);
+            progressRenderer.start();
+        }
         
-        if(parallelisation) {
-        	if(visualisation) {
-        		
-        	}
+        if(aStar) {
+            AStar_Scheduler scheduler = new AStar_Scheduler(numProcessors);
+            scheduler.setTranspositionTableSize(transpositionTableSize);
+            scheduler.setProgress(progress);
+            scheduler.setTimeLimit(timeLimit);
+            scheduler.createSchedule(nodeList, edgeList);
+            optimalInfo = scheduler.getSchedule();
+            anytimeScheduler = scheduler;
+        } else if(iterativeDeepening) {
+            IDAStar_Scheduler scheduler = new IDAStar_Scheduler(validNodeFinder, processorAllocator);
+            scheduler.setTranspositionTableSize(transpositionTableSize);
+            scheduler.setStatistics(statistics);
+            scheduler.setProgress(progress);
+            scheduler.setTimeLimit(timeLimit);
+            scheduler.createSchedule(nodeList, edgeList);
+            optimalInfo = scheduler.getSchedule();
+            anytimeScheduler = scheduler;
+        } else if(parallelisation) {
         	MasterSchedulerInterface scheduler = MasterScheduler.getInstance(numCores, numProcessors);
+        	scheduler.setTranspositionTableSize(transpositionTableSize);
+        	scheduler.setStatistics(statistics);
+        	scheduler.setProgress(progress);
+        	scheduler.setCheckpoint(checkpoint);
+        	scheduler.setTimeLimit(timeLimit);
         	scheduler.createSchedule(nodeList, edgeList);
         	optimalInfo = scheduler.getSchedule();
+        	anytimeScheduler = scheduler;
         } else {
-        	if(visualisation) {
-        		
-        	}
-            SchedulerInterface scheduler = new DepthFirst_BaB_Scheduler(validNodeFinder, processorAllocator);
+            DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(validNodeFinder, processorAllocator);
+            scheduler.setTranspositionTableSize(transpositionTableSize);
+            scheduler.setStatistics(statistics);
+            scheduler.setProgress(progress);
+            scheduler.setCheckpoint(checkpoint);
+            scheduler.setTimeLimit(timeLimit);
             scheduler.createSchedule(nodeList, edgeList);
             optimalInfo = scheduler.getSchedule();
+            anytimeScheduler = scheduler;
+        }
+
+        if (progressRenderer != null) {
+            progressRenderer.stop();
         }
 
         String outputFileName = hasOutputName ? outputFile : format(inputName) + "-output";
         OutputWriter outputWriter = new OutputWriter();
         outputWriter.writeFile(nodeList, optimalInfo, edgeList, outputFileName);
+        
+        if (timeLimit > 0) {
+            printResult(anytimeScheduler);
+        }
+        if (statistics != null) {
+            System.out.println(statistics.toJson());
+        }
 //        System.out.println("Completed.");
 
     }
 
+    /*
+     * Reports the schedule found within the time limit and how much longer than optimal it can be
+     */
+    private static void printResult(AnytimeSchedulerInterface scheduler) {
+        int length = scheduler.getScheduleLength();
+        int lowerBound = scheduler.getLowerBound();
+        double gap = length == 0 ? 0 : 100.0 * (length - lowerBound) / length;
+        System.out.println("Schedule length: " + length + (scheduler.isOptimal() ? " (optimal)" : ""));
+        System.out.println("Lower bound: " + lowerBound);
+        System.out.println(String.format("Gap: %.2f%%", gap));
+    }
+
     public static HashMap<String, NodeTuple> getOptimalSchedule() {
         return optimalInfo;
     }
@@ -15,6 +15,7 @@ public class Node implements Comparable<Node>, Cloneable {
     private List<Edge> incomingEdges;
     private List<Edge> outgoingEdges;
     private int criticalPathLength = 0;
+    private int id = -1;
 
 
     public Node(String name, int weight) {
@@ -34,6 +35,15 @@ public class Node implements Comparable<Node>, Cloneable {
         return weight;
     }
 
+    // Dense index of this node, assigned when a TaskGraph is built
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public Edge getIncomingEdge(int i) {
         return incomingEdges.get(i);
     }
@@ -1,20 +1,28 @@
 package models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class NodeTuple {
 	
 	private int startTime = -1;
 	private int processor = -1;
-	private List<Integer> checkedProcessors = new ArrayList<Integer>(4);
+	// Bit p - 1 is set once processor p has been tried, processors past 64 go in the overflow words
+	private long checkedProcessors = 0;
+	private long[] moreCheckedProcessors;
+	private int numberCheckedProcessors = 0;
 	private boolean hasRun = false;
 	
-	public NodeTuple(int startTime, int processor, List<Integer> checkedProcessors, boolean hasRun) {
+	public NodeTuple(int startTime, int processor, boolean hasRun) {
 		this.startTime = startTime;
 		this.processor = processor;
-		this.checkedProcessors = checkedProcessors;
 		this.hasRun = hasRun;
+	}
+	
+	public NodeTuple(int startTime, int processor, List<Integer> checkedProcessors, boolean hasRun) {
+		this(startTime, processor, hasRun);
+		for (int p : checkedProcessors) {
+			addCheckedProcessor(p);
+		}
 	}	 
 
     public NodeTuple() {}
@@ -43,23 +51,56 @@ public class NodeTuple {
         this.processor = processor;
     }
 
-    public List<Integer> getCheckedProcessors() {
-        return checkedProcessors;
+    public boolean isCheckedProcessor(int num) {
+        if (num <= 64) {
+            return (checkedProcessors & (1L << (num - 1))) != 0;
+        }
+        int word = (num - 65) >>> 6;
+        return moreCheckedProcessors != null && word < moreCheckedProcessors.length
+                && (moreCheckedProcessors[word] & (1L << (num - 65))) != 0;
+    }
+
+    public int getNumberCheckedProcessors() {
+        return numberCheckedProcessors;
     }
 
     public void addCheckedProcessor(int num) {
-        checkedProcessors.add(num);
+        if (isCheckedProcessor(num)) {
+            return;
+        }
+        if (num <= 64) {
+            checkedProcessors |= 1L << (num - 1);
+        } else {
+            int word = (num - 65) >>> 6;
+            if (moreCheckedProcessors == null || word >= moreCheckedProcessors.length) {
+                long[] words = new long[word + 1];
+                if (moreCheckedProcessors != null) {
+                    System.arraycopy(moreCheckedProcessors, 0, words, 0, moreCheckedProcessors.length);
+                }
+                moreCheckedProcessors = words;
+            }
+            moreCheckedProcessors[word] |= 1L << (num - 65);
+        }
+        numberCheckedProcessors++;
     }
 
     public void resetCheckedProcessors() {
-        checkedProcessors.clear();
+        checkedProcessors = 0;
+        if (moreCheckedProcessors != null) {
+            for (int i = 0; i < moreCheckedProcessors.length; i++) {
+                moreCheckedProcessors[i] = 0;
+            }
+        }
+        numberCheckedProcessors = 0;
     }
     
     public NodeTuple clone() {
-    	NodeTuple tuple = new NodeTuple(this.startTime, this.processor, new ArrayList<Integer>(), this.hasRun);
-    	for (int i : checkedProcessors) {
-    		tuple.addCheckedProcessor(i);
+    	NodeTuple tuple = new NodeTuple(this.startTime, this.processor, this.hasRun);
+    	tuple.checkedProcessors = checkedProcessors;
+    	if (moreCheckedProcessors != null) {
+    		tuple.moreCheckedProcessors = moreCheckedProcessors.clone();
     	}
+    	tuple.numberCheckedProcessors = numberCheckedProcessors;
     	return tuple;
     }
 }
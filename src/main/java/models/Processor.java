@@ -1,30 +1,44 @@
 package models;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * A processor is a stack of the nodes allocated to it, as the search only ever removes the node it
+ * added most recently. Each entry holds the node id, its start time and the processor end time once
+ * it is added, so adding, removing and reading the end time are constant time and allocation free
+ * once the stack has grown to the depth of the search.
+ */
 public class Processor {
 
-	int endTime = 0;
-	List<Node> allocatedNodes = new ArrayList<Node>();
-	HashMap<String, Integer> allocatedNodeInfo = new HashMap<String, Integer>();
+	private static final int DEFAULT_CAPACITY = 16;
 
+	int[] allocatedNodes;
+	int[] allocatedStartTimes;
+	int[] allocatedEndTimes;
+	int numAllocated = 0;
+
+	public Processor() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public Processor(int capacity) {
+		capacity = Math.max(capacity, 1);
+		allocatedNodes = new int[capacity];
+		allocatedStartTimes = new int[capacity];
+		allocatedEndTimes = new int[capacity];
+	}
 	
 	public int getEndTime() {
-		return endTime;
+		return numAllocated == 0 ? 0 : allocatedEndTimes[numAllocated - 1];
 	}
 	
 
-	public HashMap<String, Integer> getAllocatedNodeInfo(){
-		return allocatedNodeInfo;
-	}
-	
-	public int findEarliestStartTime(Node node, int earliestValidStart, int earliestValidEnd) {
+	public int findEarliestStartTime(int earliestValidStart) {
 //        int foundStartTime = 0;
 //        int foundEndTime = 0;
 //
 
+        int endTime = getEndTime();
         if (earliestValidStart > endTime) { 
         	return earliestValidStart; 
         } else { 
@@ -64,41 +78,53 @@ public class Processor {
 	}
 	
 
-	public void addNode(Node node, NodeTuple tuple) {
-		allocatedNodeInfo.put(node.getName(), tuple.getStartTime());
-		allocatedNodes.add(node);
-		int nodeEndTime = tuple.getStartTime() + node.getWeight();
-
-		if (nodeEndTime > endTime) {
-			endTime = nodeEndTime;
+	public void addNode(int node, int startTime, int weight) {
+		if (numAllocated == allocatedNodes.length) {
+			grow();
 		}
+		int endTime = Math.max(getEndTime(), startTime + weight);
+		allocatedNodes[numAllocated] = node;
+		allocatedStartTimes[numAllocated] = startTime;
+		allocatedEndTimes[numAllocated] = endTime;
+		numAllocated++;
 	}
 	
-	public void removeNode(Node node, NodeTuple tuple) {
-		allocatedNodes.remove(node);
-		allocatedNodeInfo.remove(node.getName());
-				
-		endTime = 0;
-		for (int i = allocatedNodes.size() - 1; i > -1; i--) {
-//			if(allocatedNodeInfo.get(allocatedNodes.get(i).getName()) == null) {
-//				System.out.println("Disappeared node: " + allocatedNodes.get(i).getName());
-//				System.out.println("THIS ALLOCATED STUFF IS DUMB");
-//			}
-//			
-//			if (allocatedNodes.get(i) == null) {
-//				System.out.println(allocatedNodeInfo.get(allocatedNodes.get(i).getName()));
-//			}
-			
-			int nodeEndTime = allocatedNodeInfo.get(allocatedNodes.get(i).getName()) + allocatedNodes.get(i).getWeight();
-			if (nodeEndTime > endTime) {
-				endTime = nodeEndTime;
-			}
+	/*
+	 * Removes the node if it is the most recently added one, otherwise it is not on this processor
+	 * and nothing changes
+	 */
+	public void removeNode(int node) {
+		if (numAllocated > 0 && allocatedNodes[numAllocated - 1] == node) {
+			numAllocated--;
 		}
-
+	}
+	
+	public void clear() {
+		numAllocated = 0;
 	}
 	
 	public boolean isEmpty() {
-		return allocatedNodes.isEmpty();
+		return numAllocated == 0;
+	}
+	
+	public int getNumberNodes() {
+		return numAllocated;
+	}
+	
+	/*
+	 * Grows the stack so it can hold at least this many nodes without allocating again
+	 */
+	public void ensureCapacity(int capacity) {
+		while (allocatedNodes.length < capacity) {
+			grow();
+		}
+	}
+	
+	private void grow() {
+		int capacity = allocatedNodes.length * 2;
+		allocatedNodes = Arrays.copyOf(allocatedNodes, capacity);
+		allocatedStartTimes = Arrays.copyOf(allocatedStartTimes, capacity);
+		allocatedEndTimes = Arrays.copyOf(allocatedEndTimes, capacity);
 	}
 	
-}
\ No newline at end of file
+}
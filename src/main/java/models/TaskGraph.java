@@ -0,0 +1,187 @@
+package models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskGraph is a compact, int-indexed view of the input DAG built once after the input has been read.
+ * Each node is given a dense id (its index in the node list) and parent/child adjacency is stored in
+ * CSR form, so the search can walk the graph without any String or HashMap access.
+ *
+ * Nodes with the same weight, parents, children and edge costs are interchangeable in any schedule.
+ * Each such class is chained in id order so the search can schedule its members in that order only.
+ */
+public class TaskGraph {
+
+	private final Node[] nodes;
+	private final int[] weights;
+
+	// Parents of node i are parents[parentIndex[i]] to parents[parentIndex[i+1] - 1]
+	private final int[] parentIndex;
+	private final int[] parents;
+	private final int[] parentCosts;
+
+	// Children of node i are children[childIndex[i]] to children[childIndex[i+1] - 1]
+	private final int[] childIndex;
+	private final int[] children;
+	private final int[] childCosts;
+
+	// Longest path from the start of a node to the end of the graph, including its own weight
+	private final int[] bottomLevels;
+	private final int totalWeight;
+
+	// Previous and next node of the same equivalence class, -1 if there is none
+	private final int[] equivalentPredecessors;
+	private final int[] equivalentSuccessors;
+
+	public TaskGraph(List<Node> nodeList) {
+		int numNodes = nodeList.size();
+		nodes = nodeList.toArray(new Node[numNodes]);
+		weights = new int[numNodes];
+		parentIndex = new int[numNodes + 1];
+		childIndex = new int[numNodes + 1];
+
+		int weightSum = 0;
+		for (int i = 0; i < numNodes; i++) {
+			nodes[i].setId(i);
+			weights[i] = nodes[i].getWeight();
+			weightSum += weights[i];
+			parentIndex[i + 1] = parentIndex[i] + nodes[i].getNumberIncomingEdges();
+			childIndex[i + 1] = childIndex[i] + nodes[i].getNumberOutgoingEdges();
+		}
+		totalWeight = weightSum;
+
+		parents = new int[parentIndex[numNodes]];
+		parentCosts = new int[parentIndex[numNodes]];
+		children = new int[childIndex[numNodes]];
+		childCosts = new int[childIndex[numNodes]];
+
+		for (int i = 0; i < numNodes; i++) {
+			int p = parentIndex[i];
+			for (Edge edge : nodes[i].getIncomingEdges()) {
+				parents[p] = edge.getStartNode().getId();
+				parentCosts[p] = edge.getWeight();
+				p++;
+			}
+			int c = childIndex[i];
+			for (Edge edge : nodes[i].getOutgoingEdges()) {
+				children[c] = edge.getEndNode().getId();
+				childCosts[c] = edge.getWeight();
+				c++;
+			}
+		}
+
+		bottomLevels = new int[numNodes];
+		boolean hasDistanceChanged = true;
+		for (int i = 0; i < numNodes; i++) {
+			bottomLevels[i] = weights[i];
+		}
+		// Relax until stable, the graph is acyclic so this terminates within numNodes passes
+		while (hasDistanceChanged) {
+			hasDistanceChanged = false;
+			for (int i = 0; i < numNodes; i++) {
+				for (int c = childIndex[i]; c < childIndex[i + 1]; c++) {
+					int newBottomLevel = weights[i] + bottomLevels[children[c]];
+					if (newBottomLevel > bottomLevels[i]) {
+						bottomLevels[i] = newBottomLevel;
+						hasDistanceChanged = true;
+					}
+				}
+			}
+		}
+
+		equivalentPredecessors = new int[numNodes];
+		equivalentSuccessors = new int[numNodes];
+		Arrays.fill(equivalentSuccessors, -1);
+		Map<String, Integer> lastMembers = new HashMap<String, Integer>();
+		for (int i = 0; i < numNodes; i++) {
+			String key = weights[i] + "|" + edgeKey(parents, parentCosts, parentIndex[i], parentIndex[i + 1])
+					+ "|" + edgeKey(children, childCosts, childIndex[i], childIndex[i + 1]);
+			Integer lastMember = lastMembers.put(key, i);
+			equivalentPredecessors[i] = lastMember == null ? -1 : lastMember;
+			if (lastMember != null) {
+				equivalentSuccessors[lastMember] = i;
+			}
+		}
+	}
+
+	// Order independent description of a node's edges, each edge as its other end and cost
+	private static String edgeKey(int[] ends, int[] costs, int start, int end) {
+		long[] edges = new long[end - start];
+		for (int i = start; i < end; i++) {
+			edges[i - start] = ((long) ends[i] << 32) | (costs[i] & 0xFFFFFFFFL);
+		}
+		Arrays.sort(edges);
+		return Arrays.toString(edges);
+	}
+
+	public int getNumberNodes() {
+		return nodes.length;
+	}
+
+	public Node getNode(int id) {
+		return nodes[id];
+	}
+
+	public int getWeight(int id) {
+		return weights[id];
+	}
+
+	public int getTotalWeight() {
+		return totalWeight;
+	}
+
+	public int getBottomLevel(int id) {
+		return bottomLevels[id];
+	}
+
+	public int getParentStart(int id) {
+		return parentIndex[id];
+	}
+
+	public int getParentEnd(int id) {
+		return parentIndex[id + 1];
+	}
+
+	public int getParent(int index) {
+		return parents[index];
+	}
+
+	public int getParentCost(int index) {
+		return parentCosts[index];
+	}
+
+	public int getChildStart(int id) {
+		return childIndex[id];
+	}
+
+	public int getChildEnd(int id) {
+		return childIndex[id + 1];
+	}
+
+	public int getChild(int index) {
+		return children[index];
+	}
+
+	public int getChildCost(int index) {
+		return childCosts[index];
+	}
+
+	public int getNumberParents(int id) {
+		return parentIndex[id + 1] - parentIndex[id];
+	}
+
+	public int getNumberChildren(int id) {
+		return childIndex[id + 1] - childIndex[id];
+	}
+
+	public int getEquivalentPredecessor(int id) {
+		return equivalentPredecessors[id];
+	}
+
+	public int getEquivalentSuccessor(int id) {
+		return equivalentSuccessors[id];
+	}
+}
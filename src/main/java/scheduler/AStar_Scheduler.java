@@ -0,0 +1,391 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import models.Edge;
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Implementation of an A* best-first scheduler
+ *
+ * Each state stores only its last placement and a reference to the state it was expanded from, the
+ * rest of the partial schedule is rebuilt by walking back to the empty schedule when a state is expanded.
+ * Open states are kept in buckets indexed by their f value, and states already generated are recorded
+ * by fingerprint so duplicate partial schedules, including processor relabellings, are only queued once.
+ *
+ * The first complete schedule taken off the open list is optimal. Memory grows with the number of
+ * states generated, so this suits graphs of moderate size. If the search is stopped early the list
+ * schedule is returned, with the lowest f value still open as the lower bound.
+ */
+public class AStar_Scheduler implements AnytimeSchedulerInterface {
+
+	// Number of states expanded between checks of the time limit
+	private static final int LIMIT_INTERVAL = 1024;
+
+	TaskGraph graph;
+	int numNodes;
+	int numProcessors;
+	int upperBound;
+	int[] criticalOrder;
+
+	// Open list, bucket f holds the open states with that f value
+	List<List<State>> openBuckets;
+	int lowestBucket;
+	TranspositionTable generatedStates;
+	ScheduleFingerprint fingerprint;
+	int transpositionTableSize = TranspositionTable.DEFAULT_SIZE_MB;
+
+	// Working arrays describing the state being expanded
+	int[] startTimes;
+	int[] processors;
+	int[] processorEndTimes;
+	boolean[] processorUsed;
+
+	NodeTuple[] optimalSchedule;
+	int scheduleLength;
+	int lowerBound;
+	boolean isOptimal = false;
+
+	long timeLimit = 0;
+	volatile SearchLimit searchLimit;
+	// Set by cancel until the search it was meant for has finished
+	volatile boolean cancelled = false;
+	// Snapshot of the search for other threads, null when not wanted
+	SearchProgress progress;
+
+	public AStar_Scheduler(int numProcessors) {
+		this.numProcessors = numProcessors;
+	}
+
+	/*
+	 * Sets the memory cap of the set of generated states in megabytes, 0 disables duplicate detection
+	 */
+	public void setTranspositionTableSize(int megabytes) {
+		this.transpositionTableSize = megabytes;
+	}
+
+	@Override
+	public void setTimeLimit(long milliseconds) {
+		this.timeLimit = milliseconds;
+	}
+
+	@Override
+	public void cancel() {
+		cancelled = true;
+		SearchLimit limit = searchLimit;
+		if (limit != null) {
+			limit.cancel();
+		}
+	}
+
+	/*
+	 * Publishes snapshots of the search to the given progress, null stops publishing
+	 */
+	public void setProgress(SearchProgress progress) {
+		this.progress = progress;
+	}
+
+	@Override
+	public boolean isOptimal() {
+		return isOptimal;
+	}
+
+	@Override
+	public int getScheduleLength() {
+		return scheduleLength;
+	}
+
+	@Override
+	public int getLowerBound() {
+		return lowerBound;
+	}
+
+	@Override
+	public void createSchedule(List<Node> nodeList, List<Edge> edgeList) {
+		try {
+			search(nodeList);
+		} finally {
+			cancelled = false;
+			if (progress != null) {
+				progress.setLowerBound(lowerBound);
+				progress.offerSchedule(optimalSchedule, scheduleLength);
+				progress.setBusy(0, false);
+				progress.finish();
+			}
+		}
+	}
+
+	private void search(List<Node> nodeList) {
+		graph = new TaskGraph(nodeList);
+		numNodes = graph.getNumberNodes();
+		criticalOrder = DepthFirst_Scheduler.createCriticalOrder(graph);
+
+		// No optimal schedule is longer than a list schedule
+		ListScheduler listScheduler = new ListScheduler(graph, numProcessors);
+		NodeTuple[] listSchedule = listScheduler.createSchedule();
+		upperBound = listScheduler.getScheduleLength();
+		optimalSchedule = listSchedule;
+		scheduleLength = upperBound;
+		lowerBound = 0;
+		isOptimal = false;
+
+		if (progress != null) {
+			progress.start(graph, numProcessors);
+			progress.offerSchedule(listSchedule, upperBound);
+			progress.setBusy(0, true);
+		}
+
+		SearchLimit limit = new SearchLimit(timeLimit);
+		searchLimit = limit;
+		// Cancelled before the search started
+		if (cancelled) {
+			limit.cancel();
+		}
+
+		startTimes = new int[numNodes];
+		processors = new int[numNodes];
+		processorEndTimes = new int[numProcessors];
+		processorUsed = new boolean[numProcessors];
+
+		openBuckets = new ArrayList<List<State>>(upperBound + 1);
+		for (int i = 0; i <= upperBound; i++) {
+			openBuckets.add(null);
+		}
+		if (transpositionTableSize > 0) {
+			generatedStates = new TranspositionTable(transpositionTableSize);
+		}
+		fingerprint = new ScheduleFingerprint(numProcessors);
+
+		lowestBucket = 0;
+		push(new State(null, -1, 0, 0, 0, 0), 0);
+
+		State state;
+		int limitCountdown = LIMIT_INTERVAL;
+		while ((state = pop()) != null) {
+			// Every open state has an f value of at least the one just taken
+			lowerBound = lowestBucket;
+			if (state.depth == numNodes) {
+				optimalSchedule = createNodeTuples(state);
+				scheduleLength = state.bound;
+				isOptimal = true;
+				return;
+			}
+			// Stop with the list schedule once out of time
+			if (--limitCountdown <= 0) {
+				limitCountdown = LIMIT_INTERVAL;
+				if (progress != null) {
+					progress.addStates(0, LIMIT_INTERVAL);
+					progress.setLowerBound(lowerBound);
+				}
+				if (limit.isReached()) {
+					return;
+				}
+			}
+			expand(state);
+		}
+
+		// Nothing shorter than the list schedule exists
+		lowerBound = upperBound;
+		isOptimal = true;
+	}
+
+	@Override
+	public HashMap<String, NodeTuple> getSchedule() {
+		if (optimalSchedule == null) {
+			return null;
+		}
+		HashMap<String, NodeTuple> schedule = new HashMap<String, NodeTuple>();
+		for (int i = 0; i < optimalSchedule.length; i++) {
+			schedule.put(graph.getNode(i).getName(), optimalSchedule[i]);
+		}
+		return schedule;
+	}
+
+	/*
+	 * Generates every placement of every ready node on the state and queues the new states
+	 */
+	private void expand(State state) {
+		loadState(state);
+
+		int remainingWork = graph.getTotalWeight();
+		for (int i = 0; i < numNodes; i++) {
+			if (processors[i] > 0) {
+				remainingWork -= graph.getWeight(i);
+			}
+		}
+
+		for (int node = 0; node < numNodes; node++) {
+			if (processors[node] > 0 || !isReady(node)) {
+				continue;
+			}
+
+			boolean triedEmptyProcessor = false;
+			for (int p = 1; p <= numProcessors; p++) {
+				// Empty processors are interchangeable, only place on the first
+				if (!processorUsed[p - 1]) {
+					if (triedEmptyProcessor) {
+						continue;
+					}
+					triedEmptyProcessor = true;
+				}
+
+				int startTime = findEarliestStartTime(node, p);
+				int endTime = startTime + graph.getWeight(node);
+				int bound = Math.max(state.bound, endTime);
+
+				int f = Math.max(bound, estimate(node, p, endTime, remainingWork - graph.getWeight(node)));
+				f = Math.max(f, startTime + graph.getBottomLevel(node));
+				if (f > upperBound) {
+					continue;
+				}
+
+				if (generatedStates != null) {
+					fingerprint.toggle(node, startTime, p);
+					boolean isNew = generatedStates.addIfAbsent(fingerprint.getHash1(), fingerprint.getHash2());
+					fingerprint.toggle(node, startTime, p);
+					if (!isNew) {
+						continue;
+					}
+				}
+
+				push(new State(state, node, p, startTime, state.depth + 1, bound), f);
+			}
+		}
+	}
+
+	/*
+	 * Critical path heuristic of the depth first schedulers applied to the state after placing a node.
+	 * The remaining work or the longest remaining critical path must run after the earliest processor end time.
+	 */
+	private int estimate(int node, int processor, int endTime, int remainingWork) {
+		int earliestProcessorEndTime = Integer.MAX_VALUE;
+		for (int p = 1; p <= numProcessors; p++) {
+			int pEndTime = p == processor ? endTime : processorEndTimes[p - 1];
+			if (pEndTime < earliestProcessorEndTime) {
+				earliestProcessorEndTime = pEndTime;
+			}
+		}
+
+		int criticalPathLength = 0;
+		for (int i = 0; i < criticalOrder.length; i++) {
+			int n = criticalOrder[i];
+			if (processors[n] < 1 && n != node) {
+				criticalPathLength = graph.getBottomLevel(n);
+				break;
+			}
+		}
+
+		// Remaining work spread evenly, rounded up as schedule lengths are whole
+		int remainingPerProcessor = (remainingWork + numProcessors - 1) / numProcessors;
+
+		return Math.max(remainingPerProcessor, criticalPathLength) + earliestProcessorEndTime;
+	}
+
+	private boolean isReady(int node) {
+		for (int p = graph.getParentStart(node); p < graph.getParentEnd(node); p++) {
+			if (processors[graph.getParent(p)] < 1) {
+				return false;
+			}
+		}
+		// Identical nodes are scheduled in id order
+		int predecessor = graph.getEquivalentPredecessor(node);
+		return predecessor < 0 || processors[predecessor] > 0;
+	}
+
+	private int findEarliestStartTime(int node, int processor) {
+		int earliestValidStart = processorEndTimes[processor - 1];
+		for (int p = graph.getParentStart(node); p < graph.getParentEnd(node); p++) {
+			int parent = graph.getParent(p);
+			int dependencyEnd = startTimes[parent] + graph.getWeight(parent);
+			if (processors[parent] != processor) {
+				dependencyEnd += graph.getParentCost(p);
+			}
+			if (dependencyEnd > earliestValidStart) {
+				earliestValidStart = dependencyEnd;
+			}
+		}
+		return earliestValidStart;
+	}
+
+	/*
+	 * Rebuilds the partial schedule of a state into the working arrays
+	 */
+	private void loadState(State state) {
+		for (int i = 0; i < numNodes; i++) {
+			processors[i] = -1;
+			startTimes[i] = -1;
+		}
+		for (int p = 0; p < numProcessors; p++) {
+			processorEndTimes[p] = 0;
+			processorUsed[p] = false;
+		}
+		fingerprint.clear();
+
+		for (State s = state; s.node >= 0; s = s.parent) {
+			processors[s.node] = s.processor;
+			startTimes[s.node] = s.startTime;
+			processorUsed[s.processor - 1] = true;
+			fingerprint.toggle(s.node, s.startTime, s.processor);
+			int endTime = s.startTime + graph.getWeight(s.node);
+			if (endTime > processorEndTimes[s.processor - 1]) {
+				processorEndTimes[s.processor - 1] = endTime;
+			}
+		}
+	}
+
+	private NodeTuple[] createNodeTuples(State state) {
+		NodeTuple[] schedule = new NodeTuple[numNodes];
+		for (State s = state; s.node >= 0; s = s.parent) {
+			schedule[s.node] = new NodeTuple(s.startTime, s.processor, true);
+		}
+		return schedule;
+	}
+
+	private void push(State state, int f) {
+		List<State> bucket = openBuckets.get(f);
+		if (bucket == null) {
+			bucket = new ArrayList<State>();
+			openBuckets.set(f, bucket);
+		}
+		bucket.add(state);
+		if (f < lowestBucket) {
+			lowestBucket = f;
+		}
+	}
+
+	/*
+	 * Takes a state with the lowest f value, the most recently queued one on ties
+	 */
+	private State pop() {
+		while (lowestBucket <= upperBound) {
+			List<State> bucket = openBuckets.get(lowestBucket);
+			if (bucket != null && bucket.size() > 0) {
+				return bucket.remove(bucket.size() - 1);
+			}
+			lowestBucket++;
+		}
+		return null;
+	}
+
+	private static class State {
+		final State parent;
+		final int node;
+		final int processor;
+		final int startTime;
+		final int depth;
+		final int bound;
+
+		State(State parent, int node, int processor, int startTime, int depth, int bound) {
+			this.parent = parent;
+			this.node = node;
+			this.processor = processor;
+			this.startTime = startTime;
+			this.depth = depth;
+			this.bound = bound;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package scheduler;
+
+/**
+ * A scheduler that can be stopped early, returning the best schedule found so far along with a
+ * lower bound on the length of an optimal schedule.
+ * The search stops once its time limit passes or another thread cancels it, and createSchedule
+ * returns after its workers have stopped.
+ */
+public interface AnytimeSchedulerInterface extends SchedulerInterface {
+
+	// Stops the search after this many milliseconds, 0 for no limit
+	public void setTimeLimit(long milliseconds);
+	
+	// Stops the running search, or the next one if none is running yet, safe to call from any thread
+	public void cancel();
+	
+	// Whether the search finished, proving the schedule optimal
+	public boolean isOptimal();
+	
+	public int getScheduleLength();
+	
+	// No schedule is shorter than this
+	public int getLowerBound();
+
+}
@@ -0,0 +1,11 @@
+package scheduler;
+
+/**
+ * A scheduler whose search can be saved to a checkpoint while it runs and resumed from it later.
+ */
+public interface CheckpointSchedulerInterface extends AnytimeSchedulerInterface {
+
+	// Saves the search to the given checkpoint and resumes the search saved in it, null stops saving
+	public void setCheckpoint(SearchCheckpoint checkpoint);
+
+}
@@ -0,0 +1,47 @@
+package scheduler;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Critical path bound, the unscheduled node with the longest bottom level cannot start before the
+ * earliest processor end time and its whole critical path has to run after that.
+ */
+public class CriticalPathBound implements LowerBoundInterface {
+
+	private TaskGraph graph;
+	private NodeTuple[] nodeInfo;
+	private ProcessorAllocatorInterface processorAllocator;
+	private int[] criticalOrder;
+	
+	@Override
+	public void initialise(TaskGraph graph, NodeTuple[] nodeInfo, ProcessorAllocatorInterface processorAllocator,
+			ValidNodeFinderInterface nodeFinder) {
+		this.graph = graph;
+		this.nodeInfo = nodeInfo;
+		this.processorAllocator = processorAllocator;
+		criticalOrder = DepthFirst_Scheduler.createCriticalOrder(graph);
+	}
+	
+	@Override
+	public void addScheduledNode(int node) {
+	}
+	
+	@Override
+	public void removeScheduledNode(int node) {
+	}
+	
+	@Override
+	public int findLowerBound(int limit) {
+		// Critical path of the highest unscheduled node
+		int criticalPathLength = 0;
+		for (int i = 0; i < criticalOrder.length; i++) {
+			if (!nodeInfo[criticalOrder[i]].getHasRun()) {
+				criticalPathLength = graph.getBottomLevel(criticalOrder[i]);
+				break;
+			}
+		}
+		return criticalPathLength + processorAllocator.getEarliestProcessorEndTime();
+	}
+
+}
@@ -0,0 +1,58 @@
+package scheduler;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Data ready time bound, every ready node starts no earlier than its earliest start on the best
+ * processor for it and its bottom level still has to run after that. Communication from parents
+ * on other processors is included in the start times.
+ */
+public class DataReadyBound implements LowerBoundInterface {
+
+	private TaskGraph graph;
+	private ProcessorAllocatorInterface processorAllocator;
+	private ValidNodeFinderInterface nodeFinder;
+	
+	@Override
+	public void initialise(TaskGraph graph, NodeTuple[] nodeInfo, ProcessorAllocatorInterface processorAllocator,
+			ValidNodeFinderInterface nodeFinder) {
+		this.graph = graph;
+		this.processorAllocator = processorAllocator;
+		this.nodeFinder = nodeFinder;
+	}
+	
+	@Override
+	public void addScheduledNode(int node) {
+	}
+	
+	@Override
+	public void removeScheduledNode(int node) {
+	}
+	
+	@Override
+	public int findLowerBound(int limit) {
+		int bound = 0;
+		int numProcessors = processorAllocator.getNumberProcessors();
+		for (int i = 0; i < nodeFinder.getNumberReadyNodes(); i++) {
+			int node = nodeFinder.getReadyNode(i);
+			int earliestStartTime = Integer.MAX_VALUE;
+			for (int p = 1; p <= numProcessors; p++) {
+				int startTime = processorAllocator.findEarliestStartTime(node, p);
+				if (startTime < earliestStartTime) {
+					earliestStartTime = startTime;
+				}
+			}
+			
+			int nodeBound = earliestStartTime + graph.getBottomLevel(node);
+			if (nodeBound > bound) {
+				bound = nodeBound;
+				if (bound > limit) {
+					return bound;
+				}
+			}
+		}
+		return bound;
+	}
+
+}
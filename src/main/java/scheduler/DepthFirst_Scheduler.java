@@ -0,0 +1,538 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import models.Edge;
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Depth first search over partial schedules using while loops, shared by the branch and bound and the
+ * iterative deepening schedulers. Only a subclass whose search can be resumed sets a checkpoint.
+ * 
+ * @author Jay
+ *
+ */
+public abstract class DepthFirst_Scheduler implements AnytimeSchedulerInterface {
+
+	// Number of states expanded between checks of the time limit and the checkpoint. Placements that are
+	// pruned are not counted, but between two expansions at most every candidate of every level is tried
+	// on every processor, so the time between checks stays bounded
+	static final int LIMIT_INTERVAL = 1024;
+
+	int currentBound = 0;
+	int bestBound = 0;
+	// Makespan of the partial schedule with i nodes scheduled, restored when backtracking
+	int[] makespans;
+	
+	// Lower bounds on any schedule completing the current one, cheapest first
+	LowerBoundInterface[] lowerBounds = createLowerBounds();
+	// Lower bound of the empty schedule, holds for every schedule
+	int rootLowerBound = 0;
+	
+	long timeLimit = 0;
+	volatile SearchLimit searchLimit;
+	// Set by cancel until the search it was meant for has finished
+	volatile boolean cancelled = false;
+	int limitCountdown = LIMIT_INTERVAL;
+	boolean isOptimal = false;
+	// Counts what the search does, null when not wanted
+	SearchStatistics statistics;
+	// Snapshot of the search for other threads, null when not wanted
+	SearchProgress progress;
+	// File the search is saved to and resumed from, null when not wanted or the search cannot be resumed
+	SearchCheckpoint checkpoint;
+	
+	TaskGraph graph;
+	List<Node> nodeList;
+	List<Node> scheduledNodes = new ArrayList<Node>();
+	NodeTuple[] scheduleInfo;
+	NodeTuple[] optimalSchedule;
+
+	
+	int level = 0;
+	SearchFrontier frontier;
+	
+	// Partial schedules already expanded, and the fingerprint of the current one
+	TranspositionTable transpositionTable;
+	int transpositionTableSize = TranspositionTable.DEFAULT_SIZE_MB;
+	ScheduleFingerprint fingerprint;
+	
+	Node node;
+	ValidNodeFinderInterface nodeFinder;
+	ProcessorAllocatorInterface processorAllocator;
+	
+	DepthFirst_Scheduler(ValidNodeFinderInterface nodeFinder, ProcessorAllocatorInterface processAllocator) {
+		  this.nodeFinder = nodeFinder;
+		  this.processorAllocator = processAllocator;
+	}
+	
+	@Override
+	public void createSchedule(List<Node> nodes, List<Edge> edgeList) {
+		if (checkpoint != null) {
+			checkpoint.stopOnShutdown(this);
+		}
+		try {
+			initialiseSearch(nodes);
+			search();
+			if (checkpoint != null) {
+				writeCheckpoint();
+			}
+		} finally {
+			cancelled = false;
+			if (statistics != null) {
+				statistics.finish();
+			}
+			if (progress != null) {
+				progress.setLowerBound(getLowerBound());
+				progress.setBusy(0, false);
+				progress.finish();
+			}
+			if (checkpoint != null) {
+				checkpoint.searchFinished();
+			}
+		}
+	}
+	
+	/*
+	 * Sets up the search state for a new graph, everything the search needs is allocated here
+	 */
+	void initialiseSearch(List<Node> nodes) {
+		// Initialize availability
+		nodeList = nodes;
+		graph = new TaskGraph(nodeList);
+		processorAllocator.addGraph(graph);
+		// A previous search may have been stopped with nodes still placed
+		processorAllocator.clearProcessors();
+		nodeFinder.addGraph(graph);
+		
+		scheduleInfo = new NodeTuple[graph.getNumberNodes()];
+		for (int i = 0; i < scheduleInfo.length; i++) {
+			scheduleInfo[i] = new NodeTuple();
+		}
+		processorAllocator.addNodeInfo(scheduleInfo);
+		nodeFinder.addNodeInfo(scheduleInfo);
+		
+		if (transpositionTableSize > 0) {
+			transpositionTable = new TranspositionTable(transpositionTableSize);
+		}
+		fingerprint = new ScheduleFingerprint(processorAllocator.getNumberProcessors());
+		makespans = new int[nodeList.size() + 1];
+		
+		// Start from a list schedule so the search can prune from its first descent
+		ListScheduler listScheduler = new ListScheduler(graph, processorAllocator.getNumberProcessors());
+		optimalSchedule = listScheduler.createSchedule();
+		bestBound = listScheduler.getScheduleLength();
+		// A resumed search starts from the best schedule it had saved
+		if (checkpoint != null && checkpoint.hasSavedSearch()) {
+			checkpoint.checkSavedSearch(graph, processorAllocator.getNumberProcessors());
+			if (checkpoint.getSavedStacks().size() > 1) {
+				throw new IllegalArgumentException("Error: the checkpoint was saved by the parallel scheduler, resume it with -p");
+			}
+			if (checkpoint.getSavedLength() < bestBound) {
+				bestBound = checkpoint.getSavedLength();
+				copyScheduleInfo(checkpoint.getSavedSchedule(), optimalSchedule);
+			}
+		}
+		if (statistics != null) {
+			statistics.start(graph.getNumberNodes());
+			statistics.addImprovement(bestBound);
+		}
+		
+		for (int i = 0; i < lowerBounds.length; i++) {
+			lowerBounds[i].initialise(graph, scheduleInfo, processorAllocator, nodeFinder);
+		}
+		rootLowerBound = findLowerBound(lowerBounds, Integer.MAX_VALUE);
+		if (progress != null) {
+			progress.start(graph, processorAllocator.getNumberProcessors());
+			progress.offerSchedule(cloneScheduleInfo(optimalSchedule), bestBound);
+			progress.setLowerBound(rootLowerBound);
+			progress.setBusy(0, true);
+		}
+		
+		SearchLimit limit = new SearchLimit(timeLimit);
+		searchLimit = limit;
+		// Cancelled before the search started
+		if (cancelled) {
+			limit.cancel();
+		}
+		isOptimal = false;
+		
+		scheduledNodes = new ArrayList<Node>(nodeList.size());
+		currentBound = 0;
+		level = 0;
+		
+		// Initialize the frontier with the first level
+		frontier = new SearchFrontier(nodeList.size());
+		frontier.findCandidates(0, nodeFinder);
+		
+		if (checkpoint != null) {
+			checkpoint.start();
+			if (checkpoint.hasSavedSearch()) {
+				restoreSavedSearch();
+			}
+		}
+	}
+	
+	/*
+	 * Schedules the nodes of the saved stack again in order and restores the candidates left on each
+	 * level, a checkpoint without a stack is of a finished search
+	 */
+	void restoreSavedSearch() {
+		List<SearchCheckpoint.Stack> stacks = checkpoint.getSavedStacks();
+		if (stacks.isEmpty()) {
+			level = -1;
+			return;
+		}
+		SearchCheckpoint.Stack stack = stacks.get(0);
+		for (level = 0; level < stack.getNumberLevels(); level++) {
+			frontier.restoreCandidates(level, stack.getCandidates(level));
+			int id = frontier.getCandidate(level);
+			stack.restorePlacement(level, scheduleInfo[id]);
+			processorAllocator.addToProcessor(id, scheduleInfo[id].getProcessor());
+			
+			scheduledNodes.add(graph.getNode(id));
+			nodeFinder.addScheduledNode(id);
+			updateStateHash(id);
+			for (int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i].addScheduledNode(id);
+			}
+			currentBound = Math.max(currentBound, scheduleInfo[id].getStartTime() + graph.getWeight(id));
+			makespans[scheduledNodes.size()] = currentBound;
+		}
+		frontier.restoreCandidates(level, stack.getCandidates(level));
+	}
+	
+	/*
+	 * Saves the best schedule and the current stack, nothing is left to search once level is below 0
+	 */
+	void writeCheckpoint() {
+		int numProcessors = processorAllocator.getNumberProcessors();
+		List<SearchCheckpoint.Stack> stacks = new ArrayList<SearchCheckpoint.Stack>(1);
+		if (level > -1) {
+			stacks.add(SearchCheckpoint.Stack.capture(frontier, 0, level, scheduledNodes, scheduleInfo, numProcessors));
+		}
+		checkpoint.write(graph, numProcessors, optimalSchedule, bestBound, stacks);
+	}
+	
+	/*
+	 * Searches every schedule from the initialised state, does not allocate
+	 */
+	void search() {
+		// While not all paths have been searched (not all paths from level 0 have been searched)
+		while (level > -1) {
+			// While a complete path has not been found (not all nodes allocated)
+			while (scheduledNodes.size() < nodeList.size()) {
+
+				// If a node is available at this index, get it for allocation
+				if (frontier.hasCandidate(level)) {
+					node = graph.getNode(frontier.getCandidate(level));
+				// If a node is not available, all paths from the last scheduled node have been searched
+				} else {
+					// Return to previous level
+					returnToPreviousLevel();
+					
+					if (level < 0) {
+						// Just finished all paths, break loop
+						break;
+					}
+					// Find next node on previous level
+					continue;
+				}
+				
+				int id = node.getId();
+
+				processorAllocator.removeFromProcessor(id, scheduleInfo[id].getProcessor());
+				// Try to allocate a processor to the node
+				// If returns false, no processors available to allocate
+				if (!processorAllocator.allocateProcessor(id)) {
+					if (statistics != null) {
+						statistics.addSymmetryPrunes(processorAllocator.getNumberProcessors() - scheduleInfo[id].getNumberCheckedProcessors());
+					}
+					// Reset checked processors for this node
+					scheduleInfo[id].resetCheckedProcessors();
+
+					// Increment index to next node (all paths from this node have been searched)
+					frontier.removeCandidate(level);
+					// This node was not valid, find next node on this level
+					continue;
+				}
+
+				scheduledNodes.add(node);
+				nodeFinder.addScheduledNode(id);
+				updateStateHash(id);
+				for (int i = 0; i < lowerBounds.length; i++) {
+					lowerBounds[i].addScheduledNode(id);
+				}
+				
+				// Check end time of new node against current bound
+				int nBound = scheduleInfo[id].getStartTime() + graph.getWeight(id);
+
+				// If end time of new node is greater than current bound, it is the new bound
+				if (nBound > currentBound) {
+					// Check new bound does not exceed best bound; if it does, it will never be better than best
+					if (nBound > bestBound) {
+						if (statistics != null) {
+							statistics.addMakespanPrune();
+						}
+						removeLastNodeFromSchedule();
+						continue;
+					} else {
+						currentBound = nBound;
+					}
+				}
+				makespans[scheduledNodes.size()] = currentBound;
+				
+
+				if (findLowerBound(lowerBounds, bestBound) > bestBound) {
+					if (statistics != null) {
+						statistics.addLowerBoundPrune();
+					}
+					removeLastNodeFromSchedule();
+					continue;
+				}
+				
+				// The same partial schedule has already been reached through a different node order
+				if (transpositionTable != null && scheduledNodes.size() < nodeList.size()
+						&& !transpositionTable.addIfAbsent(fingerprint.getHash1(), fingerprint.getHash2())) {
+					if (statistics != null) {
+						statistics.addTranspositionPrune();
+					}
+					removeLastNodeFromSchedule();
+					continue;
+				}
+				
+
+				level++;
+				frontier.findCandidates(level, nodeFinder);
+				if (statistics != null) {
+					countExpansion();
+				}
+				
+				// Stop with the best schedule so far once out of time
+				if (--limitCountdown <= 0) {
+					limitCountdown = LIMIT_INTERVAL;
+					if (progress != null) {
+						progress.addStates(0, LIMIT_INTERVAL);
+					}
+					if (searchLimit.isReached()) {
+						return;
+					}
+					if (checkpoint != null && checkpoint.isDue()) {
+						writeCheckpoint();
+					}
+				}
+			}
+			
+			if (statistics != null && level > -1) {
+				statistics.addCompleteSchedule();
+			}
+			if (currentBound < bestBound && level > -1) {
+				bestBound = currentBound;
+				copyScheduleInfo(scheduleInfo, optimalSchedule);
+				if (statistics != null) {
+					statistics.addImprovement(bestBound);
+				}
+				if (progress != null) {
+					progress.offerSchedule(cloneScheduleInfo(optimalSchedule), bestBound);
+				}
+			}
+			returnToPreviousLevel();
+		}
+		isOptimal = true;
+	}
+	
+	/*
+	 * Sets the memory cap of the transposition table in megabytes, 0 disables it
+	 */
+	public void setTranspositionTableSize(int megabytes) {
+		this.transpositionTableSize = megabytes;
+	}
+	
+	@Override
+	public void setTimeLimit(long milliseconds) {
+		this.timeLimit = milliseconds;
+	}
+	
+	@Override
+	public void cancel() {
+		cancelled = true;
+		SearchLimit limit = searchLimit;
+		if (limit != null) {
+			limit.cancel();
+		}
+	}
+	
+	@Override
+	public boolean isOptimal() {
+		return isOptimal;
+	}
+	
+	@Override
+	public int getScheduleLength() {
+		return bestBound;
+	}
+	
+	@Override
+	public int getLowerBound() {
+		return isOptimal ? bestBound : Math.min(rootLowerBound, bestBound);
+	}
+	
+	/*
+	 * Counts what the search does into the given statistics, null stops counting
+	 */
+	public void setStatistics(SearchStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	/*
+	 * Publishes snapshots of the search to the given progress, null stops publishing
+	 */
+	public void setProgress(SearchProgress progress) {
+		this.progress = progress;
+	}
+	
+	/*
+	 * Counts the partial schedule just expanded, and the ready nodes left out of its candidates
+	 * because they have a fixed order
+	 */
+	void countExpansion() {
+		statistics.addExpandedState(scheduledNodes.size());
+		statistics.addSymmetryPrunes(nodeFinder.getNumberReadyNodes() - frontier.getNumberCandidates(level));
+	}
+	
+	/*
+	 * Replaces the lower bounds used to prune partial schedules
+	 */
+	public void setLowerBounds(LowerBoundInterface... lowerBounds) {
+		this.lowerBounds = lowerBounds;
+	}
+	
+	@Override
+	public HashMap<String, NodeTuple> getSchedule() {
+		if (optimalSchedule == null) {
+			return null;
+		}
+		HashMap<String, NodeTuple> schedule = new HashMap<String, NodeTuple>();
+		for (int i = 0; i < optimalSchedule.length; i++) {
+			schedule.put(graph.getNode(i).getName(), optimalSchedule[i]);
+		}
+		return schedule;
+	}
+	
+	/*
+	 * Sorts node ids by descending critical path length
+	 */
+	static int[] createCriticalOrder(TaskGraph graph) {
+		Integer[] order = new Integer[graph.getNumberNodes()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new CriticalNodeComparator(graph));
+		
+		int[] criticalOrder = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			criticalOrder[i] = order[i];
+		}
+		return criticalOrder;
+	}
+	
+	/*
+	 * Lower bounds checked on every partial schedule, cheapest first
+	 */
+	static LowerBoundInterface[] createLowerBounds() {
+		return new LowerBoundInterface[] { new LoadBalanceBound(), new CriticalPathBound(), new DataReadyBound() };
+	}
+	
+	/*
+	 * Largest of the lower bounds, stopping as soon as one exceeds limit
+	 */
+	static int findLowerBound(LowerBoundInterface[] lowerBounds, int limit) {
+		int bound = 0;
+		for (int i = 0; i < lowerBounds.length && bound <= limit; i++) {
+			int lowerBound = lowerBounds[i].findLowerBound(limit);
+			if (lowerBound > bound) {
+				bound = lowerBound;
+			}
+		}
+		return bound;
+	}
+	
+	/*
+	 * Copies the placements of one schedule into another without allocating
+	 */
+	static void copyScheduleInfo(NodeTuple[] from, NodeTuple[] to) {
+		for (int i = 0; i < from.length; i++) {
+			to[i].setStartTime(from[i].getStartTime());
+			to[i].setProcessor(from[i].getProcessor());
+			to[i].setHasRun(from[i].getHasRun());
+		}
+	}
+	
+	static NodeTuple[] cloneScheduleInfo(NodeTuple[] scheduleInfo) {
+		NodeTuple[] clone = new NodeTuple[scheduleInfo.length];
+		for (int i = 0; i < scheduleInfo.length; i++) {
+			clone[i] = scheduleInfo[i].clone();
+		}
+		return clone;
+	}
+	
+	void removeLastNodeFromSchedule() {
+		if (scheduledNodes.size() > 0) {
+			// Remove the last scheduled node (node allocated on current level)
+			Node lastNode = scheduledNodes.remove(scheduledNodes.size() - 1);
+			currentBound = makespans[scheduledNodes.size()];
+			// Node has no longer been allocated
+			scheduleInfo[lastNode.getId()].setHasRun(false);
+			nodeFinder.removeScheduledNode(lastNode.getId());
+			updateStateHash(lastNode.getId());
+			for (int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i].removeScheduledNode(lastNode.getId());
+			}
+		}
+	}
+	
+	/*
+	 * Toggles a node's placement in the fingerprint of the partial schedule
+	 */
+	void updateStateHash(int node) {
+		NodeTuple tuple = scheduleInfo[node];
+		fingerprint.toggle(node, tuple.getStartTime(), tuple.getProcessor());
+	}
+	
+	/*
+	 * Decrements the level and performs necessary functions for when returning to a previous level,
+	 * including resetting node and restoring the current bound
+	 */
+	void returnToPreviousLevel() {
+	
+		removeLastNodeFromSchedule();
+		
+		// Reduce level
+		level--;
+	}
+
+
+	static class CriticalNodeComparator implements Comparator<Integer> {
+		
+		private TaskGraph graph;
+		
+		public CriticalNodeComparator(TaskGraph graph) {
+			this.graph = graph;
+		}
+
+		@Override
+		public int compare(Integer n1, Integer n2) {
+			return graph.getBottomLevel(n2) - graph.getBottomLevel(n1);
+		}
+		
+	}
+	
+	
+
+}
@@ -0,0 +1,160 @@
+package scheduler;
+
+/**
+ * Implementation of an iterative deepening (IDA*) scheduler
+ *
+ * Rather than improving on an incumbent, each iteration fixes a target schedule length and runs a depth
+ * first search that prunes every partial schedule whose lower bound exceeds it. The first target is the
+ * lower bound of the empty schedule, and when an iteration finds no schedule the target is raised to the
+ * smallest lower bound pruned during it. So no schedule shorter than the target exists, and the first
+ * complete schedule found is optimal.
+ *
+ * The search state is that of DepthFirst_Scheduler, so memory stays at depth first levels. If the
+ * target reaches the length of the list schedule, the list schedule is optimal. A saved stack does not
+ * carry the target, so unlike DepthFirst_BaB_Scheduler this search cannot be checkpointed.
+ */
+public class IDAStar_Scheduler extends DepthFirst_Scheduler {
+
+	// Length no schedule is shorter than, the bound searched to in the current iteration
+	int target;
+	// Smallest lower bound of a partial schedule pruned in the current iteration
+	int nextTarget;
+
+	public IDAStar_Scheduler(ValidNodeFinderInterface nodeFinder, ProcessorAllocatorInterface processAllocator) {
+		super(nodeFinder, processAllocator);
+	}
+
+	/*
+	 * Searches with rising targets from the initialised state, does not allocate
+	 */
+	@Override
+	void search() {
+		target = rootLowerBound;
+		while (target < bestBound) {
+			// Partial schedules pruned under a lower target must be searched again
+			if (transpositionTable != null) {
+				transpositionTable.clear();
+			}
+			nextTarget = Integer.MAX_VALUE;
+			if (progress != null) {
+				progress.setLowerBound(target);
+			}
+
+			if (searchTarget()) {
+				return;
+			}
+			target = nextTarget;
+		}
+		// Nothing shorter than the list schedule exists
+		isOptimal = true;
+	}
+
+	/*
+	 * Depth first search over schedules no longer than the target. Returns true once a schedule is found
+	 * or the search is stopped, otherwise returns false with everything unscheduled.
+	 */
+	private boolean searchTarget() {
+		currentBound = 0;
+		level = 0;
+		frontier.findCandidates(0, nodeFinder);
+
+		while (scheduledNodes.size() < nodeList.size()) {
+			if (frontier.hasCandidate(level)) {
+				node = graph.getNode(frontier.getCandidate(level));
+			} else {
+				returnToPreviousLevel();
+				if (level < 0) {
+					// No schedule meets the target
+					return false;
+				}
+				continue;
+			}
+
+			int id = node.getId();
+
+			processorAllocator.removeFromProcessor(id, scheduleInfo[id].getProcessor());
+			if (!processorAllocator.allocateProcessor(id)) {
+				if (statistics != null) {
+					statistics.addSymmetryPrunes(processorAllocator.getNumberProcessors() - scheduleInfo[id].getNumberCheckedProcessors());
+				}
+				scheduleInfo[id].resetCheckedProcessors();
+				frontier.removeCandidate(level);
+				continue;
+			}
+
+			scheduledNodes.add(node);
+			nodeFinder.addScheduledNode(id);
+			updateStateHash(id);
+			for (int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i].addScheduledNode(id);
+			}
+
+			int nBound = scheduleInfo[id].getStartTime() + graph.getWeight(id);
+			if (nBound > target) {
+				nextTarget = Math.min(nextTarget, nBound);
+				if (statistics != null) {
+					statistics.addMakespanPrune();
+				}
+				removeLastNodeFromSchedule();
+				continue;
+			}
+			currentBound = Math.max(currentBound, nBound);
+			makespans[scheduledNodes.size()] = currentBound;
+
+			int lowerBound = findLowerBound(lowerBounds, target);
+			if (lowerBound > target) {
+				nextTarget = Math.min(nextTarget, lowerBound);
+				if (statistics != null) {
+					statistics.addLowerBoundPrune();
+				}
+				removeLastNodeFromSchedule();
+				continue;
+			}
+
+			// The same partial schedule has already been searched to this target
+			if (transpositionTable != null && scheduledNodes.size() < nodeList.size()
+					&& !transpositionTable.addIfAbsent(fingerprint.getHash1(), fingerprint.getHash2())) {
+				if (statistics != null) {
+					statistics.addTranspositionPrune();
+				}
+				removeLastNodeFromSchedule();
+				continue;
+			}
+
+			level++;
+			frontier.findCandidates(level, nodeFinder);
+			if (statistics != null) {
+				countExpansion();
+			}
+
+			// Stop with the list schedule once out of time
+			if (--limitCountdown <= 0) {
+				limitCountdown = LIMIT_INTERVAL;
+				if (progress != null) {
+					progress.addStates(0, LIMIT_INTERVAL);
+				}
+				if (searchLimit.isReached()) {
+					return true;
+				}
+			}
+		}
+
+		// Every shorter target failed, so this schedule is optimal
+		bestBound = currentBound;
+		copyScheduleInfo(scheduleInfo, optimalSchedule);
+		isOptimal = true;
+		if (statistics != null) {
+			statistics.addCompleteSchedule();
+			statistics.addImprovement(bestBound);
+		}
+		if (progress != null) {
+			progress.offerSchedule(cloneScheduleInfo(optimalSchedule), bestBound);
+		}
+		return true;
+	}
+
+	@Override
+	public int getLowerBound() {
+		return isOptimal ? bestBound : Math.min(target, bestBound);
+	}
+}
@@ -0,0 +1,61 @@
+package scheduler;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import models.NodeTuple;
+
+/**
+ * Incumbent holds the best schedule found so far by any worker, shared by all parallel schedulers.
+ * Workers read the bound on every placement and publish better schedules with a compare and set,
+ * so a new bound is visible to every other worker as soon as it is found.
+ */
+public class Incumbent {
+
+	private final AtomicReference<Best> best;
+
+	public Incumbent(int initialBound) {
+		best = new AtomicReference<Best>(new Best(initialBound, null));
+	}
+
+	public int getBound() {
+		return best.get().bound;
+	}
+
+	public NodeTuple[] getSchedule() {
+		return best.get().schedule;
+	}
+
+	/*
+	 * Whether a schedule of this length would replace the current incumbent
+	 */
+	public boolean isImprovement(int bound) {
+		Best current = best.get();
+		return bound < current.bound || (bound == current.bound && current.schedule == null);
+	}
+
+	/*
+	 * Replaces the incumbent if the given schedule is shorter, returns whether it was accepted
+	 */
+	public boolean offer(NodeTuple[] schedule, int bound) {
+		Best replacement = new Best(bound, schedule);
+		while (true) {
+			Best current = best.get();
+			if (bound > current.bound || (bound == current.bound && current.schedule != null)) {
+				return false;
+			}
+			if (best.compareAndSet(current, replacement)) {
+				return true;
+			}
+		}
+	}
+
+	private static final class Best {
+		final int bound;
+		final NodeTuple[] schedule;
+
+		Best(int bound, NodeTuple[] schedule) {
+			this.bound = bound;
+			this.schedule = schedule;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package scheduler;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Critical path list scheduler used to find a good schedule before the exact search starts.
+ *
+ * Ready nodes are taken in order of longest bottom level and each is placed on the processor where
+ * it finishes earliest, after the processor's last node and once data from every parent has arrived.
+ * Nodes are only appended to processors, as in the exact search, so the schedule is always one the
+ * search could have produced itself.
+ */
+public class ListScheduler {
+
+	private final TaskGraph graph;
+	private final int numProcessors;
+	private int scheduleLength;
+
+	public ListScheduler(TaskGraph graph, int numProcessors) {
+		this.graph = graph;
+		this.numProcessors = numProcessors;
+	}
+
+	public NodeTuple[] createSchedule() {
+		int numNodes = graph.getNumberNodes();
+		int[] startTimes = new int[numNodes];
+		int[] processors = new int[numNodes];
+		int[] processorEndTimes = new int[numProcessors];
+		int[] unscheduledParents = new int[numNodes];
+		boolean[] isReady = new boolean[numNodes];
+
+		for (int i = 0; i < numNodes; i++) {
+			unscheduledParents[i] = graph.getNumberParents(i);
+			isReady[i] = unscheduledParents[i] == 0;
+		}
+
+		scheduleLength = 0;
+		for (int scheduled = 0; scheduled < numNodes; scheduled++) {
+			// Ready node with the longest critical path, ties go to the lowest id
+			int node = -1;
+			for (int i = 0; i < numNodes; i++) {
+				if (isReady[i] && (node < 0 || graph.getBottomLevel(i) > graph.getBottomLevel(node))) {
+					node = i;
+				}
+			}
+
+			int bestStartTime = Integer.MAX_VALUE;
+			int bestProcessor = -1;
+			for (int p = 1; p <= numProcessors; p++) {
+				int startTime = processorEndTimes[p - 1];
+				for (int e = graph.getParentStart(node); e < graph.getParentEnd(node); e++) {
+					int parent = graph.getParent(e);
+					int dataReadyTime = startTimes[parent] + graph.getWeight(parent);
+					if (processors[parent] != p) {
+						dataReadyTime += graph.getParentCost(e);
+					}
+					if (dataReadyTime > startTime) {
+						startTime = dataReadyTime;
+					}
+				}
+				if (startTime < bestStartTime) {
+					bestStartTime = startTime;
+					bestProcessor = p;
+				}
+			}
+
+			startTimes[node] = bestStartTime;
+			processors[node] = bestProcessor;
+			processorEndTimes[bestProcessor - 1] = bestStartTime + graph.getWeight(node);
+			if (processorEndTimes[bestProcessor - 1] > scheduleLength) {
+				scheduleLength = processorEndTimes[bestProcessor - 1];
+			}
+
+			isReady[node] = false;
+			for (int c = graph.getChildStart(node); c < graph.getChildEnd(node); c++) {
+				int child = graph.getChild(c);
+				unscheduledParents[child]--;
+				if (unscheduledParents[child] == 0) {
+					isReady[child] = true;
+				}
+			}
+		}
+
+		NodeTuple[] schedule = new NodeTuple[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			schedule[i] = new NodeTuple(startTimes[i], processors[i], true);
+		}
+		return schedule;
+	}
+
+	/*
+	 * Length of the last schedule created
+	 */
+	public int getScheduleLength() {
+		return scheduleLength;
+	}
+}
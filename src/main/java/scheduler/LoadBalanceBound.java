@@ -0,0 +1,54 @@
+package scheduler;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Load balance bound, all of the work plus the idle time already left on the processors must fit
+ * within the schedule on every processor, so no schedule is shorter than (total weight + idle) / P.
+ *
+ * Idle time is the part of the processor end times not covered by scheduled work. Nodes are only
+ * ever placed after a processor's end time, so gaps left by the partial schedule are never filled.
+ * The division is rounded up rather than truncated as schedule lengths are whole.
+ */
+public class LoadBalanceBound implements LowerBoundInterface {
+
+	private TaskGraph graph;
+	private ProcessorAllocatorInterface processorAllocator;
+	private int scheduledWeight;
+	
+	@Override
+	public void initialise(TaskGraph graph, NodeTuple[] nodeInfo, ProcessorAllocatorInterface processorAllocator,
+			ValidNodeFinderInterface nodeFinder) {
+		this.graph = graph;
+		this.processorAllocator = processorAllocator;
+		
+		scheduledWeight = 0;
+		for (int i = 0; i < graph.getNumberNodes(); i++) {
+			if (nodeInfo[i].getHasRun()) {
+				scheduledWeight += graph.getWeight(i);
+			}
+		}
+	}
+	
+	@Override
+	public void addScheduledNode(int node) {
+		scheduledWeight += graph.getWeight(node);
+	}
+	
+	@Override
+	public void removeScheduledNode(int node) {
+		scheduledWeight -= graph.getWeight(node);
+	}
+	
+	@Override
+	public int findLowerBound(int limit) {
+		int numProcessors = processorAllocator.getNumberProcessors();
+		return (graph.getTotalWeight() + getIdleTime() + numProcessors - 1) / numProcessors;
+	}
+	
+	public int getIdleTime() {
+		return processorAllocator.getTotalProcessorEndTime() - scheduledWeight;
+	}
+
+}
@@ -0,0 +1,23 @@
+package scheduler;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * A lower bound on the length of any complete schedule extending the current partial schedule.
+ * The schedulers report every node added to or removed from the schedule so implementations can
+ * keep their state up to date incrementally.
+ */
+public interface LowerBoundInterface {
+
+	public void initialise(TaskGraph graph, NodeTuple[] nodeInfo, ProcessorAllocatorInterface processorAllocator,
+			ValidNodeFinderInterface nodeFinder);
+	
+	public void addScheduledNode(int node);
+	
+	public void removeScheduledNode(int node);
+	
+	// Implementations may stop and return early once the bound is known to exceed limit
+	public int findLowerBound(int limit);
+
+}
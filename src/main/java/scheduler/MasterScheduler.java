@@ -1,33 +1,39 @@
 package scheduler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import models.Edge;
 import models.Node;
 
 import models.NodeTuple;
+import models.TaskGraph;
 
 public class MasterScheduler implements MasterSchedulerInterface {
 	private static MasterSchedulerInterface masterScheduler;
-	private List<ParallelSchedulerInterface> schedulerList;
 	private List<Node> nodeList;
-	private HashMap<String, NodeTuple> optimalSchedule;
-	private HashMap<String, NodeTuple> scheduleInfo = new HashMap<String, NodeTuple>();
-
-	private int bestBound = 0;
-	private static int traverseThreads;
+	private TaskGraph graph;
+	private NodeTuple[] scheduleInfo;
+
+	// Best schedule found by any worker, shared lock-free between them
+	private Incumbent incumbent;
+	private int transpositionTableSize = TranspositionTable.DEFAULT_SIZE_MB;
+	private long timeLimit = 0;
+	private volatile SearchLimit searchLimit;
+	// Set by cancel until the search it was meant for has finished
+	private volatile boolean cancelled = false;
+	private SearchStatistics statistics;
+	private SearchProgress progress;
+	// File the search is saved to and resumed from, null when not wanted
+	private SearchCheckpoint checkpoint;
+	// Lower bound of the empty schedule, holds for every schedule
+	private int rootLowerBound;
+	private static int numThreads;
 	private static int numProcessors;
 
-	// NEED TO MAKE THIS THREAD SAFE
-	private Queue<ComparisonTuple> comparisonQueue = new LinkedList<ComparisonTuple>();
-	private Queue<SubpathTuple> subpathQueue;
-
 	// Prevents new objects of this class from being instantiated
 	private MasterScheduler() {}
 
@@ -42,7 +48,8 @@ public class MasterScheduler implements MasterSchedulerInterface {
 
 
 	public static MasterSchedulerInterface getInstance(int numCores, int numProcessors) {
-		MasterScheduler.traverseThreads = numCores - 1;
+		// The calling thread waits on the pool, so every core can run a worker
+		MasterScheduler.numThreads = Math.max(numCores, 1);
 		MasterScheduler.numProcessors = numProcessors;
 
 		if (masterScheduler == null) {
@@ -52,292 +59,198 @@ public class MasterScheduler implements MasterSchedulerInterface {
 		return masterScheduler;
 	}
 	
-	public synchronized void compare(HashMap<String, NodeTuple> schedule, int scheduleBound) {
-		this.comparisonQueue.add(new ComparisonTuple(schedule, scheduleBound));
+	public void setTranspositionTableSize(int megabytes) {
+		this.transpositionTableSize = megabytes;
+	}
+	
+	@Override
+	public void setStatistics(SearchStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	@Override
+	public void setProgress(SearchProgress progress) {
+		this.progress = progress;
+	}
+	
+	@Override
+	public void setCheckpoint(SearchCheckpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+	
+	@Override
+	public void setTimeLimit(long milliseconds) {
+		this.timeLimit = milliseconds;
 	}
 	
-	public void initiateNewSubpathTuple(ParallelSchedulerInterface scheduler) {
-		SubpathTuple tuple = getSubpathTuple();
-		if(tuple != null){
-			scheduler.initiateNewSubtree(this.nodeList, tuple.processorAllocator, tuple.nodeStack, this.bestBound, tuple.scheduleInfo,tuple.schedule);
+	@Override
+	public void cancel() {
+		cancelled = true;
+		SearchLimit limit = searchLimit;
+		if (limit != null) {
+			limit.cancel();
 		}
 	}
 	
+	@Override
+	public boolean isOptimal() {
+		return searchLimit != null && !searchLimit.wasReached();
+	}
+	
+	@Override
+	public int getScheduleLength() {
+		return incumbent.getBound();
+	}
+	
+	@Override
+	public int getLowerBound() {
+		return isOptimal() ? incumbent.getBound() : Math.min(rootLowerBound, incumbent.getBound());
+	}
+	
 	@Override
 	public HashMap<String, NodeTuple> getSchedule() {
-		return optimalSchedule;
+		NodeTuple[] optimalSchedule = incumbent == null ? null : incumbent.getSchedule();
+		if (optimalSchedule == null) {
+			return null;
+		}
+		HashMap<String, NodeTuple> schedule = new HashMap<String, NodeTuple>();
+		for (int i = 0; i < optimalSchedule.length; i++) {
+			schedule.put(graph.getNode(i).getName(), optimalSchedule[i]);
+		}
+		return schedule;
 	}
 	
 	@Override
 	public void createSchedule(List<Node> nodeList, List<Edge> edgeList) {
 		this.nodeList = nodeList;
-		this.schedulerList = new ArrayList<ParallelSchedulerInterface>(traverseThreads);
+		this.graph = new TaskGraph(nodeList);
 		
-		// Initially bestBound is equivalent to serial schedule
-		for (Node n : nodeList) {
-			this.bestBound += n.getWeight();
-			scheduleInfo.put(n.getName(), new NodeTuple());
+		// Initially the best schedule is a list schedule, so workers can prune from their first descent
+		ListScheduler listScheduler = new ListScheduler(graph, numProcessors);
+		this.incumbent = new Incumbent(graph.getTotalWeight());
+		incumbent.offer(listScheduler.createSchedule(), listScheduler.getScheduleLength());
+		// A resumed search starts from the best schedule and the work it had saved
+		List<SearchCheckpoint.Stack> savedStacks = null;
+		if (checkpoint != null && checkpoint.hasSavedSearch()) {
+			checkpoint.checkSavedSearch(graph, numProcessors);
+			incumbent.offer(checkpoint.getSavedSchedule(), checkpoint.getSavedLength());
+			savedStacks = checkpoint.getSavedStacks();
 		}
-		
-
-		// Estimate heuristic costs
-		boolean hasDistanceChanged = true;
-		while (hasDistanceChanged) {
-			hasDistanceChanged = false;
-			for (Edge edge : edgeList) {
-				int newCritPathLength = edge.getEndNode().getCriticalPathLength() + edge.getStartNode().getWeight();
-				if (newCritPathLength > edge.getStartNode().getCriticalPathLength()) {
-					edge.getStartNode().setCriticalPathLength(newCritPathLength);
-					hasDistanceChanged = true;
-				}
-			}
+		if (statistics != null) {
+			statistics.start(graph.getNumberNodes(), numThreads);
+			statistics.addImprovement(incumbent.getBound());
 		}
-		
-		// Create schedulers and pass in appropriate partial schedule
-		subpathQueue = createSubpathTuples();
-		
-		ExecutorService executorService = Executors.newFixedThreadPool(traverseThreads);
-		List<Runnable> runnableList = new ArrayList<Runnable>(traverseThreads);
-		
-		for (int i = 0; i < traverseThreads; i++) {
-			runnableList.add(new Runnable() {
-				public void run() {
-					SubpathTuple tuple = getSubpathTuple();
-					if (tuple != null) {
-						ParallelSchedulerInterface scheduler = new PnV_DFS_BaB_Scheduler(new ValidNodeFinder(),tuple.processorAllocator);
-						schedulerList.add(scheduler);
-						
-						scheduler.initiateNewSubtree(nodeList, tuple.processorAllocator, tuple.nodeStack, bestBound, tuple.scheduleInfo,tuple.schedule);
-					} else {
-//						System.out.println("There are no tuples here, please resolve!");
-					}
-				}
-			});
+		this.scheduleInfo = new NodeTuple[graph.getNumberNodes()];
+		for (int i = 0; i < scheduleInfo.length; i++) {
+			scheduleInfo[i] = new NodeTuple();
 		}
 		
-		for (Runnable runnable : runnableList) {
-			executorService.execute(runnable);
-		}
+		// Start from the empty schedule with the ready root nodes as candidates, workers split this up between themselves
+		ValidNodeFinderInterface nodeFinder = new ValidNodeFinder();
+		nodeFinder.addGraph(graph);
+		nodeFinder.addNodeInfo(scheduleInfo);
 		
-		executorService.shutdown();
+		int[] candidates = new int[graph.getNumberNodes()];
+		candidates = Arrays.copyOf(candidates, nodeFinder.findSchedulableNodes(candidates, 0));
 		
-		while(executorService.isTerminated() == false || comparisonQueue.isEmpty() == false) {
-			checkQueue();
-		}
-	}
-	
-	private void checkQueue(){
-		while(comparisonQueue.isEmpty() == false) {
-			ComparisonTuple tuple = comparisonQueue.remove();
-			compareBounds(tuple.schedule, tuple.scheduleBound);
-		}
-	}
-
-	private synchronized void compareBounds(HashMap<String, NodeTuple> schedule, int scheduleBound) {
-		if (scheduleBound < this.bestBound) {
-			this.bestBound = scheduleBound;
-
-			notifyAllSchedulers(this.bestBound);
-
-			optimalSchedule = schedule;
-//			System.out.println("Found new bestBound of: " + this.bestBound);
-
-		} else if (scheduleBound == this.bestBound && optimalSchedule == null) {
-			optimalSchedule = schedule;
+		ProcessorAllocatorInterface processorAllocator = new ProcessorAllocator(numProcessors);
+		processorAllocator.addGraph(graph);
+		processorAllocator.addNodeInfo(scheduleInfo);
+		
+		LowerBoundInterface[] lowerBounds = DepthFirst_Scheduler.createLowerBounds();
+		for (int i = 0; i < lowerBounds.length; i++) {
+			lowerBounds[i].initialise(graph, scheduleInfo, processorAllocator, nodeFinder);
 		}
-	}
-
-	private synchronized void notifyAllSchedulers(int bestBound) {
-		for (ParallelSchedulerInterface scheduler : schedulerList) {
-			 scheduler.setBestBound(bestBound);
-
+		rootLowerBound = DepthFirst_Scheduler.findLowerBound(lowerBounds, Integer.MAX_VALUE);
+		if (progress != null) {
+			progress.start(graph, numProcessors);
+			progress.offerSchedule(incumbent.getSchedule(), incumbent.getBound());
+			progress.setLowerBound(rootLowerBound);
 		}
-	}
-
-	private SubpathTuple cloneSubpathTuple(SubpathTuple tuple) {
-
-		List<Queue<Node>> newNodeStack = new ArrayList<Queue<Node>>();
-		ProcessorAllocator newProcessorAllocator = new ProcessorAllocator(numProcessors);
-		List<Node> newSchedule = new ArrayList<Node>(nodeList.size());
-
-		// Clone the node stack into newNodeStack
-		for (Queue<Node> queue : tuple.nodeStack) {
-			Queue<Node> newQueue = new LinkedList<Node>();
-			
-			if (queue.isEmpty() == false) {
-				newQueue.add(queue.peek());
-				newNodeStack.add(newQueue);
-			}
-		}
-		
-		HashMap<String, NodeTuple> scheduleInfo = tuple.scheduleInfo;
-		HashMap<String, NodeTuple> newScheduleInfo = new HashMap<String, NodeTuple>();
-		newProcessorAllocator.addNodeInfo(newScheduleInfo);
 		
-		// Cloning ProcessorAllocator and ScheduleInfo from SubpathTuple
-		for (Node node : this.nodeList) {
-			NodeTuple nodeTuple = scheduleInfo.get(node.getName());
-			NodeTuple newNodeTuple = nodeTuple.clone();
-			newScheduleInfo.put(node.getName(), newNodeTuple);
-			
-			if (newNodeTuple.getHasRun() == true) {
-				newProcessorAllocator.addToProcessor(node, newNodeTuple.getProcessor()); // Add scheduled node to processor object
-				newSchedule.add(node); //Add to ScheduledNodes
-			}
-			
+		// One transposition table is shared by all workers
+		TranspositionTable transpositionTable = null;
+		if (transpositionTableSize > 0) {
+			transpositionTable = new TranspositionTable(transpositionTableSize);
 		}
 		
-		SubpathTuple clonedTuple = new SubpathTuple(newNodeStack, newProcessorAllocator, newScheduleInfo, newSchedule);
-
-		return clonedTuple;
-
-	}
-
-	private Queue<SubpathTuple> createSubpathTuples() {
-		// Find root nodes to work from
-		ValidNodeFinder nodeFinder = new ValidNodeFinder();
-		List<Node> rootNodes = nodeFinder.findRootNodes(this.nodeList);
-		
-		// Store all root nodes into a queue
-		Queue<Node> rootNodeQueue = new LinkedList<Node>();
-		rootNodeQueue.addAll(rootNodes);
-
-		// Queue of subpath tuples used for ParallelScheduler
-		Queue<SubpathTuple> subpathQueue = new LinkedList<SubpathTuple>();
-
-		// Create empty node stack for SubpathTuple
-		List<Queue<Node>> nodeStack = new ArrayList<Queue<Node>>();
-		nodeStack.add(0, rootNodeQueue);	// Add root nodes onto the stack
-
-		// Create tuple to store in queue
-		ProcessorAllocatorInterface processorAllocatorInitial = new ProcessorAllocator(numProcessors);
-
-		processorAllocatorInitial.addNodeInfo(this.scheduleInfo);
-		SubpathTuple subpathTuple = new SubpathTuple(nodeStack, processorAllocatorInitial, this.scheduleInfo, new ArrayList<Node>());
-		subpathQueue.add(subpathTuple);
-		
-		// Initially subpaths are equal to root nodes, only one processor is allocated, others will just be mirrors
-		int numSubpath = rootNodeQueue.size();
-		int nextNumSubpath = 0;
-		int heuristic = (int) Math.min(Math.ceil(traverseThreads*1.5), nodeList.size() / 2);
-
-		int level = 0;
-		
-		while (numSubpath < heuristic) {
-			SubpathTuple tuple = subpathQueue.peek();
-			nodeStack = tuple.nodeStack;
-			ProcessorAllocatorInterface processorAllocator = tuple.processorAllocator;
-			
-			if (level != nodeStack.size() - 1) {
-				level = nodeStack.size() - 1;
-				numSubpath = nextNumSubpath;
-				nextNumSubpath = 0;
-				continue;
-			}
-
+		SearchLimit limit = new SearchLimit(timeLimit);
+		searchLimit = limit;
+		// Cancelled before the search started
+		if (cancelled) {
+			limit.cancel();
+		}
 		
-
-			subpathQueue.remove();
-
-			Queue<Node> nodeQueue = nodeStack.get(level);
-
-			// Loop through nodes on this level
-			while (nodeQueue.size() > 0) {
-				List<Node> schedule = new ArrayList<Node>();
-
-				Node currentNode = nodeQueue.peek();
-				
-				int currentProcessor = this.scheduleInfo.get(currentNode.getName()).getProcessor();
-				processorAllocator.removeFromProcessor(currentNode, currentProcessor);
-				
-				// Loop to new processor on same dependent node
-				while (processorAllocator.allocateProcessor(schedule, currentNode)) {
-					SubpathTuple newSubpathTuple = cloneSubpathTuple(tuple);
-					nodeFinder.addNodeInfo(newSubpathTuple.scheduleInfo);
-					
-					List<Queue<Node>> newNodeStack = newSubpathTuple.nodeStack;
-					
-					List<Node> satisfiedNodes = nodeFinder.findSatisfiedNodes(this.nodeList);
-					nextNumSubpath += satisfiedNodes.size() * Math.max(level+1, numProcessors);
-//					System.out.print("Next Level: ");
-//					for (int i = 0; i < satisfiedNodes.size(); i++) {
-//						System.out.print(satisfiedNodes.get(i).getName() + " ");
-//					}
-//					System.out.println("");
-					
-					Queue<Node> newNodeQueue = new LinkedList<Node>();
-					newNodeQueue.addAll(satisfiedNodes);
-					
-					newNodeStack.add(newNodeQueue);
-					subpathQueue.add(newSubpathTuple);
-				}
-				
-				nodeQueue.remove();
-				
-				this.scheduleInfo.put(currentNode.getName(),new NodeTuple());
-			}
+		ForkJoinPool forkJoinPool = new ForkJoinPool(numThreads);
+		if (checkpoint != null) {
+			checkpoint.start();
+			checkpoint.stopOnShutdown(this);
 		}
+		try {
+			List<SubtreeTask> tasks = new ArrayList<SubtreeTask>();
+			if (savedStacks == null) {
+				tasks.add(new SubtreeTask(graph, processorAllocator, candidates, incumbent, transpositionTable, searchLimit,
+						checkpoint, statistics, progress, scheduleInfo, new ArrayList<Node>()));
+			} else {
+				tasks = createSavedTasks(savedStacks, transpositionTable);
+			}
 			
-		return subpathQueue;
-	}
-	
-	private synchronized SubpathTuple getSubpathTuple() {
-		while (subpathQueue.size() > 0) {
-			SubpathTuple mrTuple = subpathQueue.peek();
-			List<Queue<Node>> mrNodeStack = mrTuple.nodeStack;
-			Queue<Node> mrQueue = mrNodeStack.get(mrNodeStack.size() - 1);
-			
-			ProcessorAllocatorInterface mrAllocator = mrTuple.processorAllocator;
-			Node mrNode;
-			
-			while (mrQueue.size() > 0) {
-				mrNode = mrQueue.peek();
-				
-				int mrProcessor = mrTuple.scheduleInfo.get(mrNode.getName()).getProcessor();
-				if (mrProcessor != -1) {
-					mrAllocator.removeFromProcessor(mrNode, mrProcessor);
+			while (true) {
+				// Blocks until these tasks and every task split off from them have completed
+				for (SubtreeTask task : tasks) {
+					forkJoinPool.execute(task);
+				}
+				for (SubtreeTask task : tasks) {
+					task.join();
+				}
+				if (checkpoint == null) {
+					break;
 				}
 				
-				if(mrAllocator.allocateProcessor(mrTuple.schedule, mrNode)) {
-					SubpathTuple mrClone = cloneSubpathTuple(mrTuple);
-					
-					return mrClone;
-				} else {
-					mrTuple.scheduleInfo.put(mrNode.getName(), new NodeTuple());
-					mrQueue.remove();
+				// Workers hand back the work they had left when they stopped, the search carries on from it
+				// after a pause for the checkpoint, and none is left once the search has finished
+				List<SearchCheckpoint.Stack> stacks = checkpoint.takeStacks();
+				checkpoint.write(graph, numProcessors, incumbent.getSchedule(), incumbent.getBound(), stacks);
+				if (stacks.isEmpty() || limit.wasReached()) {
+					break;
 				}
+				tasks = createSavedTasks(stacks, transpositionTable);
+			}
+		} finally {
+			forkJoinPool.shutdown();
+			cancelled = false;
+			if (statistics != null) {
+				statistics.finish();
+			}
+			if (progress != null) {
+				progress.setLowerBound(getLowerBound());
+				progress.finish();
+			}
+			if (checkpoint != null) {
+				checkpoint.searchFinished();
 			}
-			
-			subpathQueue.remove();
 		}
-		
-		return null;
 	}
 	
-	private class ComparisonTuple {
-		public HashMap<String, NodeTuple> schedule;
-		public int scheduleBound;
-
-		public ComparisonTuple(HashMap<String, NodeTuple> schedule, int scheduleBound) {
-
-			this.schedule = schedule;
-			this.scheduleBound = scheduleBound;
-		}
-	}
-
-	private class SubpathTuple {
-		public List<Node> schedule;
-		public List<Queue<Node>> nodeStack;
-		public ProcessorAllocatorInterface processorAllocator;
-		public HashMap<String, NodeTuple> scheduleInfo;
-
-		public SubpathTuple(List<Queue<Node>> nodeStack, ProcessorAllocatorInterface processorAllocator, 
-				HashMap<String, NodeTuple> scheduleInfo, List<Node> schedule) {
-			this.schedule = schedule;
-			this.nodeStack = nodeStack;
-			this.processorAllocator = processorAllocator;
-			this.scheduleInfo = scheduleInfo;
+	/*
+	 * One task for each saved stack, each continuing it from the empty schedule
+	 */
+	private List<SubtreeTask> createSavedTasks(List<SearchCheckpoint.Stack> stacks, TranspositionTable transpositionTable) {
+		List<SubtreeTask> tasks = new ArrayList<SubtreeTask>(stacks.size());
+		for (SearchCheckpoint.Stack stack : stacks) {
+			NodeTuple[] stackScheduleInfo = new NodeTuple[graph.getNumberNodes()];
+			for (int i = 0; i < stackScheduleInfo.length; i++) {
+				stackScheduleInfo[i] = new NodeTuple();
+			}
+			ProcessorAllocatorInterface stackProcessorAllocator = new ProcessorAllocator(numProcessors);
+			stackProcessorAllocator.addGraph(graph);
+			stackProcessorAllocator.addNodeInfo(stackScheduleInfo);
+			
+			SubtreeTask task = new SubtreeTask(graph, stackProcessorAllocator, stack.getCandidates(0), incumbent,
+					transpositionTable, searchLimit, checkpoint, statistics, progress, stackScheduleInfo, new ArrayList<Node>());
+			task.setSavedStack(stack);
+			tasks.add(task);
 		}
-
+		return tasks;
 	}
-}
\ No newline at end of file
+}
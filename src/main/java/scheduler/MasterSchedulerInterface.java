@@ -1,10 +1,14 @@
 package scheduler;
 
-import java.util.HashMap;
-import models.NodeTuple;
+public interface MasterSchedulerInterface extends CheckpointSchedulerInterface {
+	
+	// Memory cap of the transposition table shared by the workers in megabytes, 0 disables it
+	public void setTranspositionTableSize(int megabytes);
+	
+	// Counts what the workers do into the given statistics, null stops counting
+	public void setStatistics(SearchStatistics statistics);
+	
+	// Publishes snapshots of the search for other threads to read, null stops publishing
+	public void setProgress(SearchProgress progress);
 
-public interface MasterSchedulerInterface extends SchedulerInterface {
-	public void compare(HashMap<String, NodeTuple> schedule, int scheduleBound);
-	public void initiateNewSubpathTuple(ParallelSchedulerInterface scheduler);
-
-}
\ No newline at end of file
+}
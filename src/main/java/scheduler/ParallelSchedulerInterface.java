@@ -1,15 +1,13 @@
 package scheduler;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Queue;
 
 import models.Node;
 import models.NodeTuple;
+import models.TaskGraph;
 
 public interface ParallelSchedulerInterface extends SchedulerInterface {
 	
-	public void initiateNewSubtree(List<Node> nodes, ProcessorAllocatorInterface processorAllocator, List<Queue<Node>> initialNodeStack, int initialBestBound, HashMap<String, NodeTuple> scheduleInfo, List<Node> scheduledNodes);
+	public void initiateNewSubtree(TaskGraph graph, ProcessorAllocatorInterface processorAllocator, int[] initialCandidates, Incumbent incumbent, NodeTuple[] scheduleInfo, List<Node> scheduledNodes);
 	
-	public boolean setBestBound(int newBestBound);
 }
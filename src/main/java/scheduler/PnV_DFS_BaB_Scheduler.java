@@ -1,40 +1,59 @@
 package scheduler;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
 import models.Edge;
 import models.Node;
 import models.NodeTuple;
+import models.TaskGraph;
 
 /**
  * Implementation of depth first branch and bound scheduler using while loops
+ * Runs inside a SubtreeTask and splits off unexplored work for idle workers to steal
  * 
  * @author Jacky and Ben - Modified version of the original scheduler produced by Jay
  *
  */
 public class PnV_DFS_BaB_Scheduler implements ParallelSchedulerInterface {
 
+	// Number of placements tried between checks for idle workers to split work off to
+	private static final int SPLIT_INTERVAL = 1024;
+
 	int currentBound = 0;
-	int bestBound = 0;
-	int heuristicBound = 0;
-	int heuristicValue = 0;
-	int criticalPathLength = 0;
+	// Makespan of the partial schedule with i nodes scheduled, restored when backtracking
+	private int[] makespans;
 	
-	private PriorityQueue<Node> criticalQueue = new PriorityQueue<Node>(new CriticalNodeComparator());
+	// Lower bounds on any schedule completing the current one, cheapest first
+	private LowerBoundInterface[] lowerBounds = DepthFirst_Scheduler.createLowerBounds();
 	
-	private List<Node> nodeList;
+	private TaskGraph graph;
 	private List<Node> scheduledNodes;
-	private HashMap<String, NodeTuple> scheduleInfo;
-	private HashMap<String, NodeTuple> optimalSchedule;
-	private List<Queue<Node>> nodeStack;
-	private MasterSchedulerInterface masterScheduler;
+	private NodeTuple[] scheduleInfo;
+	private NodeTuple[] optimalSchedule;
+	private SearchFrontier frontier;
+	private int[] initialCandidates;
+	private Incumbent incumbent;
 	int level = 0;
 	int initialLevel = 0;
+	int splitCountdown = SPLIT_INTERVAL;
+	
+	private SubtreeTask subtreeTask;
+	private SearchLimit searchLimit;
+	// Counts of this worker's search, null when not wanted
+	private SearchStatistics statistics;
+	// Snapshot of the whole search for other threads, null when not wanted
+	private SearchProgress progress;
+	private int worker;
+	// Collects the work left when the search stops or pauses to be saved, null when not wanted
+	private SearchCheckpoint checkpoint;
+	// Stack saved by an earlier search to continue from, null for a new subtree
+	private SearchCheckpoint.Stack savedStack;
+	
+	// Partial schedules already expanded by any worker, and the fingerprint of the current one
+	private TranspositionTable transpositionTable;
+	private ScheduleFingerprint fingerprint;
 	
 	
 	Node node;
@@ -44,63 +63,126 @@ public class PnV_DFS_BaB_Scheduler implements ParallelSchedulerInterface {
 	public PnV_DFS_BaB_Scheduler(ValidNodeFinderInterface nodeFinder, ProcessorAllocatorInterface processAllocator) {
 		this.nodeFinder = nodeFinder;
 		this.processorAllocator = processAllocator;
-		masterScheduler = MasterScheduler.getInstance();
 	}
 	
 	@Override
-	public void initiateNewSubtree(List<Node> nodes, ProcessorAllocatorInterface processorAllocator, List<Queue<Node>> initialNodeStack, 
-			int initialBestBound, HashMap<String, NodeTuple> scheduleInfo, List<Node> scheduledNodes) {
+	public void initiateNewSubtree(TaskGraph graph, ProcessorAllocatorInterface processorAllocator, int[] initialCandidates, 
+			Incumbent incumbent, NodeTuple[] scheduleInfo, List<Node> scheduledNodes) {
+		this.graph = graph;
 		this.processorAllocator = processorAllocator;
 		this.scheduleInfo = scheduleInfo;
 		this.scheduledNodes = scheduledNodes;
+		processorAllocator.addGraph(graph);
 		processorAllocator.addNodeInfo(scheduleInfo);
+		nodeFinder.addGraph(graph);
 		nodeFinder.addNodeInfo(scheduleInfo);
-		bestBound = initialBestBound;
+		this.incumbent = incumbent;
 		
-		heuristicValue = bestBound / processorAllocator.getNumberProcessors();
-		heuristicBound = heuristicValue;
+		// Bounds start from the partial schedule handed to this scheduler
+		for (int i = 0; i < lowerBounds.length; i++) {
+			lowerBounds[i].initialise(graph, scheduleInfo, processorAllocator, nodeFinder);
+		}
 		
-		nodeStack = initialNodeStack;
+		this.initialCandidates = initialCandidates;
+		
+		fingerprint = new ScheduleFingerprint(processorAllocator.getNumberProcessors());
+		for (Node n : scheduledNodes) {
+			updateStateHash(n.getId());
+		}
 		
 //		System.out.println("A thread started their subtask");
 		
-		createSchedule(nodes, null);
+		createSchedule(null, null);
 		
 //		System.out.println("A thread finished their subtask");
-		
-		// Called when other work is complete
-		notifyMaster();
+	}
+	
+	/*
+	 * Sets the fork/join task this scheduler runs in, allowing it to split off work for idle workers
+	 */
+	public void setSubtreeTask(SubtreeTask subtreeTask) {
+		this.subtreeTask = subtreeTask;
+	}
+	
+	/*
+	 * Sets the limit shared by all workers, checked whenever work could be split off
+	 */
+	public void setSearchLimit(SearchLimit searchLimit) {
+		this.searchLimit = searchLimit;
+	}
+	
+	/*
+	 * Counts what this worker's search does into the given statistics, which only this worker uses
+	 */
+	public void setStatistics(SearchStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	/*
+	 * Publishes this worker's progress to the snapshot shared by all workers, as the given worker
+	 */
+	public void setProgress(SearchProgress progress, int worker) {
+		this.progress = progress;
+		this.worker = worker;
+	}
+	
+	/*
+	 * Hands the work left to the given checkpoint whenever this worker stops, null drops it
+	 */
+	public void setCheckpoint(SearchCheckpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+	
+	/*
+	 * Continues from a stack saved by an earlier search, starting from the empty schedule
+	 */
+	public void setSavedStack(SearchCheckpoint.Stack savedStack) {
+		this.savedStack = savedStack;
+	}
+	
+	/*
+	 * Sets the transposition table shared by all workers, null disables it
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
 	}
 	
 	@Override
 	public void createSchedule(List<Node> nodes, List<Edge> edgeList) {
 		// Initialise availability
-		this.nodeList = nodes;
+		int numNodes = graph.getNumberNodes();
 		
-		for (int i = 0; i < nodeList.size(); i++) {
-			criticalQueue.add(nodeList.get(i));
-		}
+		// Initialise current bound from the partial schedule handed to this scheduler
+		makespans = new int[numNodes + 1];
+		updateCurrentBound();
+		makespans[scheduledNodes.size()] = currentBound;
 		
-		// Initialise level to be last initialised level in nodeStack
-		initialLevel = nodeStack.size();
+		// Initialise level to be the first level after the partial schedule, its candidates are the ones handed over
+		initialLevel = scheduledNodes.size();
 		this.level = initialLevel;
 		
-		// Initialise nodeStack
-		for (int i = initialLevel; i < nodeList.size()+1; i++) {
-			nodeStack.add(null);
+		frontier = new SearchFrontier(numNodes);
+		frontier.setCandidates(initialLevel, initialCandidates);
+		if (savedStack != null) {
+			restoreSavedStack();
 		}
 		
-		nodeStack.set(initialLevel, new LinkedList<Node>(nodeFinder.findSatisfiedNodes(nodeList)));
+		// Work split off before the limit was reached is dropped, or handed to the checkpoint. A pause for the
+		// checkpoint waits for the first check below, so every round of the search makes progress
+		if (searchLimit != null && searchLimit.isReached()) {
+			saveStack();
+			return;
+		}
 		
 		// While not all paths have been searched (not all paths from level 0 have been searched)
 		while (level >= initialLevel) {
 //			System.out.println("My level is " + level + " and the initial level was " + initialLevel);
 			
 			// While a complete path has not been found (not all nodes allocated)
-			while (scheduledNodes.size() < nodeList.size()) {
+			while (scheduledNodes.size() < numNodes) {
 				// If a node is available at this index, get it for allocation
-				if (nodeStack.get(level).size() > 0) {
-					node = nodeStack.get(level).peek();
+				if (frontier.hasCandidate(level)) {
+					node = graph.getNode(frontier.getCandidate(level));
 				// If a node is not available, all paths from the last scheduled node have been searched
 				} else {
 					// Return to previous level
@@ -114,61 +196,107 @@ public class PnV_DFS_BaB_Scheduler implements ParallelSchedulerInterface {
 					continue;
 				}
 				
-				processorAllocator.removeFromProcessor(node, scheduleInfo.get(node.getName()).getProcessor());
+				int id = node.getId();
+				
+				processorAllocator.removeFromProcessor(id, scheduleInfo[id].getProcessor());
 				// Try to allocate a processor to the node
 				// If returns false, no processors available to allocate
-				if (!processorAllocator.allocateProcessor(nodeList, node)) {
+				if (!processorAllocator.allocateProcessor(id)) {
 					// Reset checked processors for this node
-					scheduleInfo.get(node.getName()).resetCheckedProcessors();
+					if (statistics != null) {
+						statistics.addSymmetryPrunes(processorAllocator.getNumberProcessors() - scheduleInfo[id].getNumberCheckedProcessors());
+					}
+					scheduleInfo[id].resetCheckedProcessors();
 					// Increment index to next node (all paths from this node have been searched)
-					nodeStack.get(level).remove();
+					frontier.removeCandidate(level);
 					// This node was not valid, find next node on this level
 					continue;
 				}
 
 				scheduledNodes.add(node);
-				updateHeuristic(node, true);
+				nodeFinder.addScheduledNode(id);
+				updateStateHash(id);
+				for (int i = 0; i < lowerBounds.length; i++) {
+					lowerBounds[i].addScheduledNode(id);
+				}
 				
 				// Check end time of new node against current bound
-				int nBound = scheduleInfo.get(node.getName()).getStartTime() + node.getWeight();
+				int nBound = scheduleInfo[id].getStartTime() + graph.getWeight(id);
 				// If end time of new node is greater than current bound, it is the new bound
 				if (nBound > currentBound) {
 					// Check new bound does not exceed best bound; if it does, it will never be better than best
-					if (nBound > bestBound) {
+					if (nBound > incumbent.getBound()) {
+						if (statistics != null) {
+							statistics.addMakespanPrune();
+						}
 						removeLastNodeFromSchedule();
 						continue;
 					} else {
 						currentBound = nBound;
 					}
 				}
+				makespans[scheduledNodes.size()] = currentBound;
+				
+				int bestBound = incumbent.getBound();
+				if (DepthFirst_Scheduler.findLowerBound(lowerBounds, bestBound) > bestBound) {
+					if (statistics != null) {
+						statistics.addLowerBoundPrune();
+					}
+					removeLastNodeFromSchedule();
+					continue;
+				}
 				
-				if (heuristicBound > bestBound) {
+				// The same partial schedule has already been reached through a different node order
+				if (transpositionTable != null && scheduledNodes.size() < numNodes
+						&& !transpositionTable.addIfAbsent(fingerprint.getHash1(), fingerprint.getHash2())) {
+					if (statistics != null) {
+						statistics.addTranspositionPrune();
+					}
 					removeLastNodeFromSchedule();
 					continue;
 				}
+				
 				level++;
-				nodeStack.set(level, new LinkedList<Node>(nodeFinder.findSatisfiedNodes(nodeList)));
+				frontier.findCandidates(level, nodeFinder);
+				if (statistics != null) {
+					statistics.addExpandedState(scheduledNodes.size());
+					statistics.addSymmetryPrunes(nodeFinder.getNumberReadyNodes() - frontier.getNumberCandidates(level));
+				}
 				
+				// Periodically stop if out of time, or hand unexplored work to idle workers
+				if (--splitCountdown <= 0) {
+					splitCountdown = SPLIT_INTERVAL;
+					if (progress != null) {
+						progress.addStates(worker, SPLIT_INTERVAL);
+					}
+					if (shouldStop()) {
+						saveStack();
+						return;
+					}
+					if (subtreeTask != null && subtreeTask.shouldSplit()) {
+						SubtreeTask task = splitShallowestLevel();
+						if (task != null) {
+							subtreeTask.forkSubtree(task);
+						}
+					}
+				}
 			}
 			
-			if (scheduledNodes.size() == nodeList.size() && setBestBound(currentBound) && level >= initialLevel) {	
-				optimalSchedule = scheduleInfo;
-				scheduleInfo = new HashMap<String, NodeTuple>();
-				processorAllocator.addNodeInfo(scheduleInfo);
-				nodeFinder.addNodeInfo(scheduleInfo);
-				for (Node n : nodeList) {
-					scheduleInfo.put(n.getName(), optimalSchedule.get(n.getName()).clone());
-				}
-				masterScheduler.compare(optimalSchedule, bestBound);
-			} else if (currentBound == bestBound && optimalSchedule == null && level >= initialLevel) {
-				optimalSchedule = scheduleInfo;
-				scheduleInfo = new HashMap<String, NodeTuple>();
-				processorAllocator.addNodeInfo(scheduleInfo);
-				nodeFinder.addNodeInfo(scheduleInfo);
-				for (Node n : nodeList) {
-					scheduleInfo.put(n.getName(), optimalSchedule.get(n.getName()).clone());
+			if (statistics != null && scheduledNodes.size() == numNodes && level >= initialLevel) {
+				statistics.addCompleteSchedule();
+			}
+			if (scheduledNodes.size() == numNodes && level >= initialLevel && incumbent.isImprovement(currentBound)) {
+				NodeTuple[] schedule = DepthFirst_Scheduler.cloneScheduleInfo(scheduleInfo);
+				// Another worker may have published a better schedule since the check
+				if (incumbent.offer(schedule, currentBound)) {
+					optimalSchedule = schedule;
+					if (statistics != null) {
+						statistics.addImprovement(currentBound);
+					}
+					if (progress != null) {
+						progress.offerSchedule(schedule, currentBound);
+					}
 				}
-				masterScheduler.compare(optimalSchedule, bestBound);
 			}
 			
 			returnToPreviousLevel();
@@ -176,66 +304,90 @@ public class PnV_DFS_BaB_Scheduler implements ParallelSchedulerInterface {
 		
 	}
 	
-	public synchronized boolean setBestBound(int newBestBound) {
-		if(newBestBound < bestBound) {
-			bestBound = newBestBound;
-//			System.out.println("NEW BEST BOUND FOUND " + bestBound );
-			return true;
-		} 
-		return false;
-	}
-	
 	@Override
 	public HashMap<String, NodeTuple> getSchedule() {
-		return optimalSchedule;
-	}
-	
-	private void updateHeuristic(Node node, boolean isAllocated) {
-		if (isAllocated) {
-			heuristicValue -= node.getWeight() / processorAllocator.getNumberProcessors();
-			while (criticalQueue.size() > 0 && scheduleInfo.get(criticalQueue.peek().getName()).getHasRun()) {
-				criticalQueue.remove();
-			}
-			if (criticalQueue.size() > 0) {
-				criticalPathLength = criticalQueue.peek().getCriticalPathLength();
-			} else {
-				criticalPathLength = 0;
-			}
-		} else {
-			heuristicValue += node.getWeight() / processorAllocator.getNumberProcessors();
-			criticalQueue.add(node);
-			int newCriticalPathLength = criticalQueue.peek().getCriticalPathLength();
-			if (newCriticalPathLength > criticalPathLength) {
-				criticalPathLength = newCriticalPathLength;
-			}
+		if (optimalSchedule == null) {
+			return null;
 		}
-		
-		heuristicBound = Math.max(
-				heuristicValue + processorAllocator.getEarliestProcessorEndTime(),
-				criticalPathLength + processorAllocator.getEarliestProcessorEndTime()
-				);
+		HashMap<String, NodeTuple> schedule = new HashMap<String, NodeTuple>();
+		for (int i = 0; i < optimalSchedule.length; i++) {
+			schedule.put(graph.getNode(i).getName(), optimalSchedule[i]);
+		}
+		return schedule;
 	}
 	
 	private void removeLastNodeFromSchedule() {
 		if (scheduledNodes.size() > 0) {
 			// Remove the last scheduled node (node allocated on current level)
 			Node lastNode = scheduledNodes.remove(scheduledNodes.size() - 1);
+			currentBound = makespans[scheduledNodes.size()];
 			// Node has no longer been allocated
-			scheduleInfo.get(lastNode.getName()).setHasRun(false);
-		
-			updateHeuristic(lastNode, false);
+			scheduleInfo[lastNode.getId()].setHasRun(false);
+			nodeFinder.removeScheduledNode(lastNode.getId());
+			updateStateHash(lastNode.getId());
+			for (int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i].removeScheduledNode(lastNode.getId());
+			}
+		}
+	}
+	
+	
+	/*
+	 * Toggles a node's placement in the fingerprint of the partial schedule
+	 */
+	private void updateStateHash(int node) {
+		NodeTuple tuple = scheduleInfo[node];
+		fingerprint.toggle(node, tuple.getStartTime(), tuple.getProcessor());
+	}
+	
+	/*
+	 * Whether the search is out of time or cancelled, or pausing for the checkpoint to be written
+	 */
+	private boolean shouldStop() {
+		return searchLimit != null && searchLimit.isReached() || checkpoint != null && checkpoint.isDue();
+	}
+	
+	/*
+	 * Hands the work this worker has left to the checkpoint
+	 */
+	private void saveStack() {
+		if (checkpoint != null) {
+			checkpoint.addStack(SearchCheckpoint.Stack.capture(frontier, initialLevel, level, scheduledNodes, scheduleInfo,
+					processorAllocator.getNumberProcessors()));
 		}
 	}
 	
+	/*
+	 * Schedules the nodes of the saved stack again in order and restores the candidates left on each level
+	 */
+	private void restoreSavedStack() {
+		for (level = initialLevel; level < savedStack.getNumberLevels(); level++) {
+			frontier.restoreCandidates(level, savedStack.getCandidates(level));
+			int id = frontier.getCandidate(level);
+			savedStack.restorePlacement(level, scheduleInfo[id]);
+			processorAllocator.addToProcessor(id, scheduleInfo[id].getProcessor());
+			
+			scheduledNodes.add(graph.getNode(id));
+			nodeFinder.addScheduledNode(id);
+			updateStateHash(id);
+			for (int i = 0; i < lowerBounds.length; i++) {
+				lowerBounds[i].addScheduledNode(id);
+			}
+			currentBound = Math.max(currentBound, scheduleInfo[id].getStartTime() + graph.getWeight(id));
+			makespans[scheduledNodes.size()] = currentBound;
+		}
+		frontier.restoreCandidates(level, savedStack.getCandidates(level));
+	}
 	
 	/*
-	 * Calculates the appropriate max runtime for the schedule
+	 * Calculates the max runtime of the partial schedule from scratch
 	 */
 	private void updateCurrentBound() {
 		// Reset the current bound
 		currentBound = 0;
 		for (int i = scheduledNodes.size() - 1; i > -1; i--) {
-			int nBound = scheduleInfo.get(scheduledNodes.get(i).getName()).getStartTime() + scheduledNodes.get(i).getWeight();
+			int id = scheduledNodes.get(i).getId();
+			int nBound = scheduleInfo[id].getStartTime() + graph.getWeight(id);
 			if (nBound > currentBound) {
 				currentBound = nBound;
 			}
@@ -244,30 +396,52 @@ public class PnV_DFS_BaB_Scheduler implements ParallelSchedulerInterface {
 	
 	/*
 	 * Decrements the level and performs necessary functions for when returning to a previous level,
-	 * including resetting node and updating the current bound
+	 * including resetting node and restoring the current bound
 	 */
 	private void returnToPreviousLevel() {
 	
 		removeLastNodeFromSchedule();
 		
-		updateCurrentBound();
-		
 		// Reduce level
 		level--;
 	}
 	
-	private void notifyMaster(){
-		MasterSchedulerInterface masterScheduler = MasterScheduler.getInstance();
-		masterScheduler.initiateNewSubpathTuple(this);
+	/*
+	 * Removes the unexplored siblings at the shallowest level with any remaining and returns them
+	 * as a new task, starting from a copy of the partial schedule above that level
+	 */
+	private SubtreeTask splitShallowestLevel() {
+		for (int l = initialLevel; l < level; l++) {
+			// The current candidate is the node scheduled on this level, everything after it is unexplored
+			if (frontier.getNumberCandidates(l) > 1) {
+				return createSubtree(l, frontier.splitCandidates(l));
+			}
+		}
+		return null;
 	}
 	
-
-	private class CriticalNodeComparator implements Comparator<Node> {
-		@Override
-		public int compare(Node n1, Node n2) {
-			return n2.getCriticalPathLength() - n1.getCriticalPathLength();
+	private SubtreeTask createSubtree(int splitLevel, int[] siblings) {
+		NodeTuple[] newScheduleInfo = new NodeTuple[graph.getNumberNodes()];
+		for (int i = 0; i < newScheduleInfo.length; i++) {
+			newScheduleInfo[i] = new NodeTuple();
+		}
+		
+		ProcessorAllocatorInterface newProcessorAllocator = new ProcessorAllocator(processorAllocator.getNumberProcessors());
+		newProcessorAllocator.addGraph(graph);
+		newProcessorAllocator.addNodeInfo(newScheduleInfo);
+		
+		List<Node> newScheduledNodes = new ArrayList<Node>(graph.getNumberNodes());
+		
+		// Copy the partial schedule above the split level, in the order it was scheduled
+		for (int i = 0; i < splitLevel; i++) {
+			Node scheduledNode = scheduledNodes.get(i);
+			NodeTuple tuple = scheduleInfo[scheduledNode.getId()];
+			newScheduleInfo[scheduledNode.getId()] = new NodeTuple(tuple.getStartTime(), tuple.getProcessor(), true);
+			newProcessorAllocator.addToProcessor(scheduledNode.getId(), tuple.getProcessor());
+			newScheduledNodes.add(scheduledNode);
 		}
 		
+		return new SubtreeTask(graph, newProcessorAllocator, siblings, incumbent, transpositionTable, searchLimit,
+				subtreeTask.getCheckpoint(), subtreeTask.getStatistics(), subtreeTask.getProgress(), newScheduleInfo, newScheduledNodes);
 	}
 }
-
@@ -1,20 +1,17 @@
 package scheduler;
 
-import models.Edge;
-import models.Node;
 import models.NodeTuple;
 import models.Processor;
+import models.TaskGraph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-
 import java.util.List;
 
 /**
  * @author Henry Wu
  *
  * ProcessorAllocator is an implementation of the ProcessorAllocatorInterface.
- * ProcessorAllocator takes a node, the current schedule, a list of checked processors and the number
+ * ProcessorAllocator takes a node id, the current schedule, a list of checked processors and the number
  * of processors to use and returns the processor with the earliest start time for that node
  */
 public class ProcessorAllocator implements ProcessorAllocatorInterface {
@@ -22,7 +19,8 @@ public class ProcessorAllocator implements ProcessorAllocatorInterface {
     int numProcessors;
     List<Processor> processors;
     
-    HashMap<String, NodeTuple> nodeInfo;
+    TaskGraph graph;
+    NodeTuple[] nodeInfo;
 
 
     public ProcessorAllocator(int numProcessors) {
@@ -33,14 +31,23 @@ public class ProcessorAllocator implements ProcessorAllocatorInterface {
         }
     }
 
+    public void addGraph(TaskGraph graph) {
+    	this.graph = graph;
+    	// A processor can hold every node, sizing them now keeps the search from allocating
+    	for (int i = 0; i < processors.size(); i++) {
+    		processors.get(i).ensureCapacity(graph.getNumberNodes());
+    	}
+    }
     
-	public void addNodeInfo(HashMap<String, NodeTuple> nodeInfo) {
+	public void addNodeInfo(NodeTuple[] nodeInfo) {
 		this.nodeInfo = nodeInfo;
 	}
 
-    public boolean allocateProcessor(List<Node> schedule, Node node) {
+    public boolean allocateProcessor(int node) {
+        NodeTuple tuple = nodeInfo[node];
+
         // There are no available processors for which the node can be assigned to.
-        if (nodeInfo.get(node.getName()).getCheckedProcessors().size() >= numProcessors) {
+        if (tuple.getNumberCheckedProcessors() >= numProcessors) {
 
             return false;
         }
@@ -48,85 +55,92 @@ public class ProcessorAllocator implements ProcessorAllocatorInterface {
         int earliestStartTime = Integer.MAX_VALUE;
         int bestProcessor = -1;
         int tempEarliestStartTime;
+        boolean foundEmptyProcessor = false;
 
         // Go through every processor and find the best time available for each one
         for (int i = 1; i <= numProcessors; i++) {
 
-            if (!nodeInfo.get(node.getName()).getCheckedProcessors().contains(i)) {
+            // Empty processors are interchangeable, only the lowest index one may be used
+            if (processors.get(i - 1).isEmpty()) {
+                if (foundEmptyProcessor) {
+                    continue;
+                }
+                foundEmptyProcessor = true;
+            }
+
+            if (!tuple.isCheckedProcessor(i)) {
 
                 // If the specified processor is available, then find the best time for the specified processor
-                tempEarliestStartTime = findEarliestStartTime(schedule, node, i);
+                tempEarliestStartTime = findEarliestStartTime(node, i);
 
                 // Determining and updating the earliest possible start time and respective processor
                 if (tempEarliestStartTime < earliestStartTime) {
                     earliestStartTime = tempEarliestStartTime;
                     bestProcessor = i;
-                } else if (tempEarliestStartTime == earliestStartTime && processors.get(bestProcessor - 1).isEmpty() && processors.get(i - 1).isEmpty()) {
-					// If equal each placement mirrors the other, pre-emptively regard as checked
-                	nodeInfo.get(node.getName()).addCheckedProcessor(i);
-
-
-				}
+                }
             }
         }
 
+        // Every processor left was a mirror of one already tried
+        if (bestProcessor < 0) {
+            return false;
+        }
+
         // Allocates the start time, which processor to use, and sets it to have run as it will be placed into the Scheduler.
-        nodeInfo.get(node.getName()).addCheckedProcessor(bestProcessor);
-        nodeInfo.get(node.getName()).setStartTime(earliestStartTime);
-        nodeInfo.get(node.getName()).setProcessor(bestProcessor);
-        nodeInfo.get(node.getName()).setHasRun(true);
-        processors.get(bestProcessor-1).addNode(node, nodeInfo.get(node.getName()));
+        tuple.addCheckedProcessor(bestProcessor);
+        tuple.setStartTime(earliestStartTime);
+        tuple.setProcessor(bestProcessor);
+        tuple.setHasRun(true);
+        processors.get(bestProcessor-1).addNode(node, earliestStartTime, graph.getWeight(node));
 
         // Node has been assigned a Processor and startTime
         return true;
     }
 
-    public int findEarliestStartTime(List<Node> schedule, Node node, int processor) {
+    public int findEarliestStartTime(int node, int processor) {
 
-        List<Edge> dependencies = node.getIncomingEdges();
         int earliestValidStart = 0;
-        int earliestValidEnd = node.getWeight();
 
         // Assumed all dependencies are satisfied
         // Find earliest start based on dependencies
-        for (Edge edge : dependencies) {
-            if (nodeInfo.get(edge.getStartNode().getName()).getProcessor() == processor) {
-                // Start new node after dependency
-                int earliestDependencyStart = nodeInfo.get(edge.getStartNode().getName()).getStartTime() + edge.getStartNode().getWeight();
-                if (earliestDependencyStart > earliestValidStart) {
-                    earliestValidStart = earliestDependencyStart;
-                    earliestValidEnd = earliestValidStart + node.getWeight();
-                }
-            } else {
+        for (int p = graph.getParentStart(node); p < graph.getParentEnd(node); p++) {
+            int parent = graph.getParent(p);
+            // Start new node after dependency
+            int earliestDependencyStart = nodeInfo[parent].getStartTime() + graph.getWeight(parent);
+            if (nodeInfo[parent].getProcessor() != processor) {
                 // Start new node after dependency and comms time
-                int earliestDependencyStart = nodeInfo.get(edge.getStartNode().getName()).getStartTime() + edge.getStartNode().getWeight() + edge.getWeight();
-                if (earliestDependencyStart > earliestValidStart) {
-                    earliestValidStart = earliestDependencyStart;
-                    earliestValidEnd = earliestValidStart + node.getWeight();
-                }
+                earliestDependencyStart += graph.getParentCost(p);
+            }
+            if (earliestDependencyStart > earliestValidStart) {
+                earliestValidStart = earliestDependencyStart;
             }
         }
 
-        earliestValidStart = processors.get(processor - 1).findEarliestStartTime(node, earliestValidStart, earliestValidEnd);
+        earliestValidStart = processors.get(processor - 1).findEarliestStartTime(earliestValidStart);
 
         return earliestValidStart;
     }
     
-    public void addToProcessor(Node node, int p) {
+    public void addToProcessor(int node, int p) {
     	// Processors shouldn't equal 0 or below if assigned
     	if (p > 0) {
-    		processors.get(p - 1).addNode(node, nodeInfo.get(node.getName()));
+    		processors.get(p - 1).addNode(node, nodeInfo[node].getStartTime(), graph.getWeight(node));
+    	}
+    }
+    
+    public void clearProcessors() {
+    	for (int i = 0; i < processors.size(); i++) {
+    		processors.get(i).clear();
     	}
     }
     
-    public void removeFromProcessor(Node node, int p) {
+    public void removeFromProcessor(int node, int p) {
     	// Processors shouldn't equal 0 or below if assigned
     	if (p > 0) {
-    		processors.get(p - 1).removeNode(node, nodeInfo.get(node.getName()));
+    		processors.get(p - 1).removeNode(node);
     	}
     	
     }
-    
     public int getEarliestProcessorEndTime() {
     	int endTime = Integer.MAX_VALUE;
     	for (int i = 0; i < processors.size(); i++) {
@@ -138,6 +152,15 @@ public class ProcessorAllocator implements ProcessorAllocatorInterface {
     	return endTime;
     }
 
+    // Sum of the end times of all processors, the idle time of the schedule is this minus its work
+    public int getTotalProcessorEndTime() {
+    	int endTime = 0;
+    	for (int i = 0; i < processors.size(); i++) {
+    		endTime += processors.get(i).getEndTime();
+    	}
+    	return endTime;
+    }
+
     public int getNumberProcessors() {
         return numProcessors;
     }
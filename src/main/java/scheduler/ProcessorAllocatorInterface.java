@@ -1,12 +1,7 @@
 package scheduler;
 
-import models.Node;
-
 import models.NodeTuple;
-
-import java.util.HashMap;
-
-import java.util.List;
+import models.TaskGraph;
 
 /**
  * Created by helen on 28/07/2016.
@@ -14,21 +9,27 @@ import java.util.List;
 
 public interface ProcessorAllocatorInterface {
     
-	public void addNodeInfo(HashMap<String, NodeTuple> nodeInfo);
+	public void addGraph(TaskGraph graph);
+	
+	public void addNodeInfo(NodeTuple[] nodeInfo);
 	
-	public boolean allocateProcessor(List<Node> schedule, Node node);
+	public boolean allocateProcessor(int node);
 
 	
-	public int findEarliestStartTime(List<Node> schedule, Node node, int processor);
+	public int findEarliestStartTime(int node, int processor);
 	
 	public int getNumberProcessors();
 
-	public void removeFromProcessor(Node node, int processor);
+	public void removeFromProcessor(int node, int processor);
 	
-	public void addToProcessor(Node node, int processor);
+	public void addToProcessor(int node, int processor);
+	
+	// Empties every processor, for a search stopped part way through
+	public void clearProcessors();
 	
 	public int getEarliestProcessorEndTime();
+	
+	public int getTotalProcessorEndTime();
 
 
 }
-
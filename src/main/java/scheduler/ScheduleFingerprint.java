@@ -0,0 +1,54 @@
+package scheduler;
+
+/**
+ * ScheduleFingerprint keeps the two transposition table fingerprints of a partial schedule in a
+ * canonical processor order, so schedules that only differ by a relabelling of the processors
+ * share a fingerprint.
+ * 
+ * Each processor's contents are hashed independently of its index, and the fingerprint is the sum
+ * of a mix of every processor's contents. The sum does not depend on which processor holds which
+ * contents. Both are updated incrementally as nodes are placed and removed.
+ */
+public class ScheduleFingerprint {
+
+	private final long[] processorHashes1;
+	private final long[] processorHashes2;
+	private long hash1 = 0;
+	private long hash2 = 0;
+
+	public ScheduleFingerprint(int numProcessors) {
+		processorHashes1 = new long[numProcessors];
+		processorHashes2 = new long[numProcessors];
+	}
+
+	/*
+	 * Adds a placement to the schedule, or removes it if it is already there
+	 */
+	public void toggle(int node, int startTime, int processor) {
+		int p = processor - 1;
+		hash1 -= TranspositionTable.mix(processorHashes1[p]);
+		hash2 -= TranspositionTable.mix(processorHashes2[p]);
+		// Placements are hashed without their processor, the processor's position in the sum stands in for it
+		processorHashes1[p] ^= TranspositionTable.hash1(node, startTime, 0);
+		processorHashes2[p] ^= TranspositionTable.hash2(node, startTime, 0);
+		hash1 += TranspositionTable.mix(processorHashes1[p]);
+		hash2 += TranspositionTable.mix(processorHashes2[p]);
+	}
+
+	public void clear() {
+		for (int p = 0; p < processorHashes1.length; p++) {
+			processorHashes1[p] = 0;
+			processorHashes2[p] = 0;
+		}
+		hash1 = 0;
+		hash2 = 0;
+	}
+
+	public long getHash1() {
+		return hash1;
+	}
+
+	public long getHash2() {
+		return hash2;
+	}
+}
@@ -0,0 +1,393 @@
+package scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * SearchCheckpoint saves the state of a depth first search to a file, so a search that is stopped can be
+ * resumed later where it left off. The state is the best schedule so far and the work left, as stacks of
+ * the candidates remaining on each level. The sequential scheduler has one stack, the parallel scheduler
+ * one for each piece of work its workers held when they stopped.
+ * <p>
+ * The file is written every interval while searching, when the search stops early and once it finishes,
+ * when it holds no work. If the file already exists when the search starts, the search resumes from it.
+ * The transposition table is not saved, so a resumed search may expand some states a second time.
+ */
+public class SearchCheckpoint {
+
+	public static final long DEFAULT_INTERVAL_MILLIS = 60000;
+
+	private static final int MAGIC = 0x4e504543;
+	private static final int VERSION = 1;
+
+	private final File file;
+	private final long intervalMillis;
+	private volatile long nextWrite;
+	private volatile boolean due = false;
+
+	// Search read from the file, resumed by the next search
+	private boolean hasSavedSearch = false;
+	private long graphHash;
+	private int numNodes;
+	private int numProcessors;
+	private int savedLength;
+	private int[] savedStartTimes;
+	private int[] savedProcessors;
+	private List<Stack> savedStacks;
+
+	// Work handed back by parallel workers as they stop
+	private final List<Stack> stoppedStacks = new ArrayList<Stack>();
+
+	private Thread shutdownHook;
+	private CountDownLatch searchFinished;
+
+	public SearchCheckpoint(File file, long intervalMillis) {
+		this.file = file;
+		this.intervalMillis = intervalMillis;
+	}
+
+	/*
+	 * Reads the search saved in the file, returns false if there is no file yet. Every count is checked
+	 * against the file, so a corrupt file fails here rather than when the search is resumed
+	 */
+	public boolean read() throws IOException {
+		if (!file.exists()) {
+			return false;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Error: " + file + " is not a checkpoint file");
+			}
+			graphHash = in.readLong();
+			// Each node takes at least 8 bytes of the file
+			numNodes = readCount(in, file.length() / 8);
+			numProcessors = readCount(in, Integer.MAX_VALUE - 1);
+			if (numProcessors == 0) {
+				throw new IOException("Error: checkpoint " + file + " has no processors");
+			}
+
+			savedLength = readCount(in, Integer.MAX_VALUE);
+			savedStartTimes = new int[numNodes];
+			savedProcessors = new int[numNodes];
+			for (int i = 0; i < numNodes; i++) {
+				savedStartTimes[i] = readCount(in, Integer.MAX_VALUE);
+				savedProcessors[i] = readValue(in, 1, numProcessors + 1);
+			}
+
+			int numStacks = readCount(in, file.length() / 8);
+			savedStacks = new ArrayList<Stack>(numStacks);
+			for (int i = 0; i < numStacks; i++) {
+				savedStacks.add(Stack.read(in, numNodes, numProcessors, file.length() / 4));
+			}
+		} finally {
+			in.close();
+		}
+		hasSavedSearch = true;
+		return true;
+	}
+
+	/*
+	 * Reads a count, throwing if it is negative or above max
+	 */
+	private static int readCount(DataInputStream in, long max) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > max) {
+			throw new IOException("Error: checkpoint count " + count + " is out of range");
+		}
+		return count;
+	}
+
+	/*
+	 * Reads a value, throwing if it is outside the range from min up to but excluding end
+	 */
+	private static int readValue(DataInputStream in, int min, int end) throws IOException {
+		int value = in.readInt();
+		if (value < min || value >= end) {
+			throw new IOException("Error: checkpoint value " + value + " is out of range");
+		}
+		return value;
+	}
+
+	public boolean hasSavedSearch() {
+		return hasSavedSearch;
+	}
+
+	/*
+	 * Checks the saved search was of the same graph on the same number of processors
+	 */
+	void checkSavedSearch(TaskGraph graph, int numProcessors) {
+		if (graphHash != hashGraph(graph) || numNodes != graph.getNumberNodes() || this.numProcessors != numProcessors) {
+			throw new IllegalArgumentException("Error: checkpoint " + file + " is of a different graph or number of processors");
+		}
+	}
+
+	int getSavedLength() {
+		return savedLength;
+	}
+
+	NodeTuple[] getSavedSchedule() {
+		NodeTuple[] schedule = new NodeTuple[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			schedule[i] = new NodeTuple(savedStartTimes[i], savedProcessors[i], true);
+		}
+		return schedule;
+	}
+
+	List<Stack> getSavedStacks() {
+		return savedStacks;
+	}
+
+	/*
+	 * Starts timing the interval to the first write
+	 */
+	void start() {
+		due = false;
+		nextWrite = System.nanoTime() + intervalMillis * 1000000L;
+	}
+
+	/*
+	 * Whether the interval has passed since the last write
+	 */
+	boolean isDue() {
+		if (!due && intervalMillis > 0 && System.nanoTime() - nextWrite >= 0) {
+			due = true;
+		}
+		return due;
+	}
+
+	/*
+	 * Adds the work a parallel worker had left when it stopped, safe to call from any worker
+	 */
+	synchronized void addStack(Stack stack) {
+		stoppedStacks.add(stack);
+	}
+
+	/*
+	 * Removes and returns the work handed back since the last call
+	 */
+	synchronized List<Stack> takeStacks() {
+		List<Stack> stacks = new ArrayList<Stack>(stoppedStacks);
+		stoppedStacks.clear();
+		return stacks;
+	}
+
+	/*
+	 * Replaces the file with the given search state and starts the next interval. A failed write is
+	 * reported and the search carries on, the previous checkpoint is left as it was
+	 */
+	void write(TaskGraph graph, int numProcessors, NodeTuple[] schedule, int length, List<Stack> stacks) {
+		File tempFile = new File(file.getPath() + ".tmp");
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(hashGraph(graph));
+				out.writeInt(graph.getNumberNodes());
+				out.writeInt(numProcessors);
+
+				out.writeInt(length);
+				for (int i = 0; i < schedule.length; i++) {
+					out.writeInt(schedule[i].getStartTime());
+					out.writeInt(schedule[i].getProcessor());
+				}
+
+				out.writeInt(stacks.size());
+				for (Stack stack : stacks) {
+					stack.write(out);
+				}
+			} finally {
+				out.close();
+			}
+			// Only a complete file replaces the last checkpoint, so a kill part way through loses nothing
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.err.println("Error: could not write checkpoint " + file + ": " + e.getMessage());
+		}
+		start();
+	}
+
+	/*
+	 * Cancels the scheduler when the JVM shuts down, on SIGTERM or Ctrl-C, and holds the shutdown until the
+	 * stopped search has written its checkpoint
+	 */
+	void stopOnShutdown(final AnytimeSchedulerInterface scheduler) {
+		final CountDownLatch finished = new CountDownLatch(1);
+		searchFinished = finished;
+		shutdownHook = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				scheduler.cancel();
+				try {
+					finished.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}, "checkpoint-on-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/*
+	 * Called once the search has written its last checkpoint
+	 */
+	void searchFinished() {
+		searchFinished.countDown();
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException e) {
+			// Already shutting down, the hook was waiting for this search
+		}
+	}
+
+	static long hashGraph(TaskGraph graph) {
+		long hash = graph.getNumberNodes();
+		for (int i = 0; i < graph.getNumberNodes(); i++) {
+			hash = 31 * hash + graph.getNode(i).getName().hashCode();
+			hash = 31 * hash + graph.getWeight(i);
+			for (int p = graph.getParentStart(i); p < graph.getParentEnd(i); p++) {
+				hash = 31 * hash + graph.getParent(p);
+				hash = 31 * hash + graph.getParentCost(p);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * The work left below a partial schedule. Each level holds the candidates left on it, the first of
+	 * which is scheduled on every level but the last, with its placement and the processors it has tried.
+	 */
+	static final class Stack {
+
+		private final int[][] candidates;
+		private final int[] startTimes;
+		private final int[] processors;
+		private final int[][] checkedProcessors;
+
+		private Stack(int numLevels) {
+			candidates = new int[numLevels + 1][];
+			startTimes = new int[numLevels];
+			processors = new int[numLevels];
+			checkedProcessors = new int[numLevels][];
+		}
+
+		/*
+		 * Copies the state of a search on the given level. Nodes scheduled before the base level have no
+		 * alternatives in this search, so every processor counts as tried for them
+		 */
+		static Stack capture(SearchFrontier frontier, int baseLevel, int level, List<Node> scheduledNodes,
+				NodeTuple[] scheduleInfo, int numProcessors) {
+			Stack stack = new Stack(level);
+			for (int l = 0; l < level; l++) {
+				int id = scheduledNodes.get(l).getId();
+				NodeTuple tuple = scheduleInfo[id];
+				stack.candidates[l] = l < baseLevel ? new int[] { id } : frontier.getCandidates(l);
+				stack.startTimes[l] = tuple.getStartTime();
+				stack.processors[l] = tuple.getProcessor();
+
+				int[] checked = new int[numProcessors];
+				int numChecked = 0;
+				for (int p = 1; p <= numProcessors; p++) {
+					if (l < baseLevel || tuple.isCheckedProcessor(p)) {
+						checked[numChecked++] = p;
+					}
+				}
+				stack.checkedProcessors[l] = Arrays.copyOf(checked, numChecked);
+			}
+			stack.candidates[level] = frontier.getCandidates(level);
+			return stack;
+		}
+
+		/*
+		 * Number of levels with a node scheduled, the level after them is the one being searched
+		 */
+		int getNumberLevels() {
+			return startTimes.length;
+		}
+
+		int[] getCandidates(int level) {
+			return candidates[level];
+		}
+
+		/*
+		 * Places the node scheduled on a level back where it was, with the processors it had tried
+		 */
+		void restorePlacement(int level, NodeTuple tuple) {
+			tuple.resetCheckedProcessors();
+			for (int p : checkedProcessors[level]) {
+				tuple.addCheckedProcessor(p);
+			}
+			tuple.setStartTime(startTimes[level]);
+			tuple.setProcessor(processors[level]);
+			tuple.setHasRun(true);
+		}
+
+		private void write(DataOutputStream out) throws IOException {
+			out.writeInt(getNumberLevels());
+			for (int l = 0; l < candidates.length; l++) {
+				writeArray(out, candidates[l]);
+			}
+			for (int l = 0; l < getNumberLevels(); l++) {
+				out.writeInt(startTimes[l]);
+				out.writeInt(processors[l]);
+				writeArray(out, checkedProcessors[l]);
+			}
+		}
+
+		/*
+		 * Reads a stack of a graph with this many nodes, every level with a node scheduled must have it as
+		 * its first candidate and node ids and processors must be in range. No array is longer than the
+		 * number of values left in the file
+		 */
+		private static Stack read(DataInputStream in, int numNodes, int numProcessors, long maxLength) throws IOException {
+			Stack stack = new Stack(readCount(in, numNodes));
+			for (int l = 0; l < stack.candidates.length; l++) {
+				stack.candidates[l] = readArray(in, numNodes, 0, numNodes);
+				if (l < stack.getNumberLevels() && stack.candidates[l].length == 0) {
+					throw new IOException("Error: checkpoint level " + l + " has no scheduled node");
+				}
+			}
+			for (int l = 0; l < stack.getNumberLevels(); l++) {
+				stack.startTimes[l] = readCount(in, Integer.MAX_VALUE);
+				stack.processors[l] = readValue(in, 1, numProcessors + 1);
+				stack.checkedProcessors[l] = readArray(in, Math.min(numProcessors, maxLength), 1, numProcessors + 1);
+			}
+			return stack;
+		}
+
+		private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+			out.writeInt(values.length);
+			for (int value : values) {
+				out.writeInt(value);
+			}
+		}
+
+		/*
+		 * Reads at most maxLength values, each from min up to but excluding end
+		 */
+		private static int[] readArray(DataInputStream in, long maxLength, int min, int end) throws IOException {
+			int[] values = new int[readCount(in, maxLength)];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = readValue(in, min, end);
+			}
+			return values;
+		}
+	}
+}
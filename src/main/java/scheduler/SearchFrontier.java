@@ -0,0 +1,102 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * SearchFrontier holds the candidate nodes of every open level of a depth first search in one
+ * int array. Each level's candidates are a slice starting where the previous level's slice ends,
+ * with a cursor pointing at the candidate currently scheduled on that level.
+ *
+ * Filling a level reuses the space of any deeper levels, so once the array has grown to the search's
+ * needs, moving through the search does not allocate.
+ */
+public class SearchFrontier {
+
+	// Enough for every level of a graph of a few thousand nodes to hold all remaining nodes
+	private static final int MAX_INITIAL_CAPACITY = 1 << 22;
+
+	private int[] candidates;
+	private final int[] cursors;
+	private final int[] ends;
+	private int baseLevel;
+
+	public SearchFrontier(int numNodes) {
+		long worstCase = (long) numNodes * (numNodes + 1) / 2;
+		candidates = new int[(int) Math.max(numNodes, Math.min(worstCase, MAX_INITIAL_CAPACITY)) + 1];
+		cursors = new int[numNodes + 1];
+		ends = new int[numNodes + 1];
+	}
+
+	/*
+	 * Starts the search at the given level with the given candidates, levels below it are never visited
+	 */
+	public void setCandidates(int level, int[] nodes) {
+		baseLevel = level;
+		ensureCapacity(nodes.length);
+		System.arraycopy(nodes, 0, candidates, 0, nodes.length);
+		cursors[level] = 0;
+		ends[level] = nodes.length;
+	}
+
+	/*
+	 * Fills a level with the given candidates, for a search restored from a checkpoint
+	 */
+	public void restoreCandidates(int level, int[] nodes) {
+		int start = level == baseLevel ? 0 : ends[level - 1];
+		ensureCapacity(start + nodes.length);
+		System.arraycopy(nodes, 0, candidates, start, nodes.length);
+		cursors[level] = start;
+		ends[level] = start + nodes.length;
+	}
+
+	/*
+	 * Fills a level with the nodes the node finder says can be scheduled next
+	 */
+	public void findCandidates(int level, ValidNodeFinderInterface nodeFinder) {
+		int start = level == baseLevel ? 0 : ends[level - 1];
+		ensureCapacity(start + nodeFinder.getNumberReadyNodes());
+		cursors[level] = start;
+		ends[level] = start + nodeFinder.findSchedulableNodes(candidates, start);
+	}
+
+	public boolean hasCandidate(int level) {
+		return cursors[level] < ends[level];
+	}
+
+	public int getCandidate(int level) {
+		return candidates[cursors[level]];
+	}
+
+	/*
+	 * Moves past the current candidate once every placement of it has been searched
+	 */
+	public void removeCandidate(int level) {
+		cursors[level]++;
+	}
+
+	public int getNumberCandidates(int level) {
+		return ends[level] - cursors[level];
+	}
+
+	/*
+	 * Copies the candidates of a level from the current one on
+	 */
+	public int[] getCandidates(int level) {
+		return Arrays.copyOfRange(candidates, cursors[level], ends[level]);
+	}
+
+	/*
+	 * Removes every candidate after the current one on a level and returns them
+	 */
+	public int[] splitCandidates(int level) {
+		int[] siblings = Arrays.copyOfRange(candidates, cursors[level] + 1, ends[level]);
+		ends[level] = cursors[level] + 1;
+		return siblings;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > candidates.length) {
+			candidates = Arrays.copyOf(candidates, Math.max(capacity, candidates.length * 2));
+		}
+	}
+}
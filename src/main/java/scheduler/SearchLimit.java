@@ -0,0 +1,47 @@
+package scheduler;
+
+/**
+ * SearchLimit tells a search when to stop and hand back the best schedule it has found so far,
+ * either because its deadline has passed or because it was cancelled from another thread.
+ * One limit is shared by every worker of a search. Once a worker sees the limit has been reached,
+ * every other worker sees it too.
+ */
+public class SearchLimit {
+
+	private final boolean hasDeadline;
+	private final long deadline;
+	private volatile boolean cancelled = false;
+	private volatile boolean reached = false;
+
+	/*
+	 * A limit that stops the search after the given number of milliseconds, 0 for no time limit
+	 */
+	public SearchLimit(long timeLimitMillis) {
+		hasDeadline = timeLimitMillis > 0;
+		deadline = System.nanoTime() + timeLimitMillis * 1000000L;
+	}
+
+	/*
+	 * Asks the search to stop, safe to call from any thread
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/*
+	 * Whether the search should stop now
+	 */
+	public boolean isReached() {
+		if (!reached && (cancelled || hasDeadline && System.nanoTime() - deadline >= 0)) {
+			reached = true;
+		}
+		return reached;
+	}
+
+	/*
+	 * Whether a search has already seen this limit and stopped because of it
+	 */
+	public boolean wasReached() {
+		return reached;
+	}
+}
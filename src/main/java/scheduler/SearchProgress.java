@@ -0,0 +1,125 @@
+package scheduler;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * SearchProgress is a snapshot of a running search that another thread can read at any time, for
+ * showing the search live. Schedulers only publish to it when they have been given one, and then
+ * only once every thousand or so expanded states and on each new best schedule.
+ */
+public class SearchProgress {
+
+	// Expanded states published by each worker, and whether it is searching
+	private final AtomicLongArray states;
+	private final AtomicIntegerArray busy;
+
+	private volatile TaskGraph graph;
+	private volatile int numProcessors;
+	private volatile long startTime;
+	private volatile long endTime;
+
+	private volatile NodeTuple[] schedule;
+	private volatile int scheduleLength;
+	private volatile int lowerBound;
+
+	public SearchProgress(int numWorkers) {
+		states = new AtomicLongArray(Math.max(numWorkers, 1));
+		busy = new AtomicIntegerArray(Math.max(numWorkers, 1));
+	}
+
+	/*
+	 * Resets the snapshot for a search of the given graph
+	 */
+	void start(TaskGraph graph, int numProcessors) {
+		for (int i = 0; i < states.length(); i++) {
+			states.set(i, 0);
+			busy.set(i, 0);
+		}
+		schedule = null;
+		scheduleLength = Integer.MAX_VALUE;
+		lowerBound = 0;
+		this.numProcessors = numProcessors;
+		this.graph = graph;
+		endTime = 0;
+		startTime = System.nanoTime();
+	}
+
+	void finish() {
+		endTime = System.nanoTime();
+	}
+
+	void addStates(int worker, long count) {
+		states.addAndGet(worker % states.length(), count);
+	}
+
+	void setBusy(int worker, boolean isBusy) {
+		busy.set(worker % busy.length(), isBusy ? 1 : 0);
+	}
+
+	/*
+	 * Publishes a new best schedule, which must not be changed afterwards
+	 */
+	synchronized void offerSchedule(NodeTuple[] schedule, int length) {
+		if (length < scheduleLength) {
+			scheduleLength = length;
+			this.schedule = schedule;
+		}
+	}
+
+	void setLowerBound(int lowerBound) {
+		this.lowerBound = lowerBound;
+	}
+
+	public TaskGraph getGraph() {
+		return graph;
+	}
+
+	public int getNumberProcessors() {
+		return numProcessors;
+	}
+
+	public NodeTuple[] getSchedule() {
+		return schedule;
+	}
+
+	public int getScheduleLength() {
+		return scheduleLength;
+	}
+
+	public int getLowerBound() {
+		return lowerBound;
+	}
+
+	public int getNumberWorkers() {
+		return states.length();
+	}
+
+	public long getStates(int worker) {
+		return states.get(worker);
+	}
+
+	public long getTotalStates() {
+		long total = 0;
+		for (int i = 0; i < states.length(); i++) {
+			total += states.get(i);
+		}
+		return total;
+	}
+
+	public boolean isBusy(int worker) {
+		return busy.get(worker) != 0;
+	}
+
+	public boolean isFinished() {
+		return endTime != 0;
+	}
+
+	public long getElapsedMillis() {
+		long end = endTime;
+		return ((end == 0 ? System.nanoTime() : end) - startTime) / 1000000;
+	}
+}
@@ -0,0 +1,225 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SearchStatistics counts what a search does, so a slow solve can be explained. Schedulers only count
+ * when they have been given a SearchStatistics, every counter update is behind a null check.
+ *
+ * Counters are plain fields and belong to one search thread. Parallel workers count into their own
+ * copy from createWorkerStatistics and merge it back once their subtree is done.
+ */
+public class SearchStatistics {
+
+	private long startTime;
+	private long endTime;
+
+	// Partial schedules expanded, by number of nodes scheduled
+	private long[] expandedStates = new long[0];
+	private long completeSchedules;
+	// Time since the start in milliseconds and length of each new best schedule
+	private List<long[]> improvements = new ArrayList<long[]>();
+
+	// Partial schedules already longer than the best schedule
+	private long makespanPrunes;
+	// Partial schedules whose lower bound exceeds the best schedule
+	private long lowerBoundPrunes;
+	// Ready nodes and processors skipped as equivalent to ones that were tried
+	private long symmetryPrunes;
+	// Partial schedules already reached in another order
+	private long transpositionPrunes;
+
+	// Nanoseconds each parallel worker spent searching, by the slot it was given when it first reported
+	private long[] workTimes = new long[0];
+	private HashMap<Thread, Integer> workerSlots = new HashMap<Thread, Integer>();
+
+	/*
+	 * Clears the counters and starts the clock for a search of a graph with this many nodes
+	 */
+	public void start(int numNodes) {
+		start(numNodes, 0);
+	}
+
+	/*
+	 * Starts a parallel search, every worker is reported even if it never gets any work
+	 */
+	public void start(int numNodes, int numWorkers) {
+		startTime = System.nanoTime();
+		endTime = startTime;
+		expandedStates = new long[numNodes + 1];
+		completeSchedules = 0;
+		improvements.clear();
+		makespanPrunes = 0;
+		lowerBoundPrunes = 0;
+		symmetryPrunes = 0;
+		transpositionPrunes = 0;
+		workTimes = new long[numWorkers];
+		workerSlots.clear();
+	}
+
+	public void finish() {
+		endTime = System.nanoTime();
+	}
+
+	/*
+	 * Empty counters for one parallel worker, timed from the same start
+	 */
+	SearchStatistics createWorkerStatistics() {
+		SearchStatistics statistics = new SearchStatistics();
+		statistics.startTime = startTime;
+		statistics.expandedStates = new long[expandedStates.length];
+		return statistics;
+	}
+
+	/*
+	 * Adds the counts of a worker to these, safe to call from any worker thread
+	 */
+	synchronized void merge(SearchStatistics worker) {
+		for (int i = 0; i < expandedStates.length; i++) {
+			expandedStates[i] += worker.expandedStates[i];
+		}
+		completeSchedules += worker.completeSchedules;
+		improvements.addAll(worker.improvements);
+		makespanPrunes += worker.makespanPrunes;
+		lowerBoundPrunes += worker.lowerBoundPrunes;
+		symmetryPrunes += worker.symmetryPrunes;
+		transpositionPrunes += worker.transpositionPrunes;
+	}
+
+	/*
+	 * Adds to the work time of the calling worker. The pool may replace a worker that sat idle, the new
+	 * thread gets an entry of its own rather than sharing one
+	 */
+	synchronized void addWorkTime(long nanoseconds) {
+		Thread thread = Thread.currentThread();
+		Integer slot = workerSlots.get(thread);
+		if (slot == null) {
+			slot = workerSlots.size();
+			workerSlots.put(thread, slot);
+			if (slot >= workTimes.length) {
+				workTimes = Arrays.copyOf(workTimes, slot + 1);
+			}
+		}
+		workTimes[slot] += nanoseconds;
+	}
+
+	void addExpandedState(int level) {
+		expandedStates[level]++;
+	}
+
+	void addCompleteSchedule() {
+		completeSchedules++;
+	}
+
+	void addImprovement(int length) {
+		improvements.add(new long[]{(System.nanoTime() - startTime) / 1000000, length});
+	}
+
+	void addMakespanPrune() {
+		makespanPrunes++;
+	}
+
+	void addLowerBoundPrune() {
+		lowerBoundPrunes++;
+	}
+
+	void addSymmetryPrunes(int count) {
+		symmetryPrunes += count;
+	}
+
+	void addTranspositionPrune() {
+		transpositionPrunes++;
+	}
+
+	public long getExpandedStates() {
+		long total = 0;
+		for (long count : expandedStates) {
+			total += count;
+		}
+		return total;
+	}
+
+	public long getExpandedStates(int level) {
+		return expandedStates[level];
+	}
+
+	public long getCompleteSchedules() {
+		return completeSchedules;
+	}
+
+	public int getNumberImprovements() {
+		return improvements.size();
+	}
+
+	public long getMakespanPrunes() {
+		return makespanPrunes;
+	}
+
+	public long getLowerBoundPrunes() {
+		return lowerBoundPrunes;
+	}
+
+	public long getSymmetryPrunes() {
+		return symmetryPrunes;
+	}
+
+	public long getTranspositionPrunes() {
+		return transpositionPrunes;
+	}
+
+	/*
+	 * The statistics as a JSON object, times in milliseconds since the search started
+	 */
+	public synchronized String toJson() {
+		long elapsed = endTime - startTime;
+		StringBuilder json = new StringBuilder("{\n");
+		json.append("  \"elapsedMillis\": ").append(elapsed / 1000000).append(",\n");
+
+		json.append("  \"expandedStates\": ").append(getExpandedStates()).append(",\n");
+		json.append("  \"expandedStatesPerLevel\": [");
+		for (int i = 0; i < expandedStates.length; i++) {
+			json.append(i == 0 ? "" : ", ").append(expandedStates[i]);
+		}
+		json.append("],\n");
+
+		json.append("  \"completeSchedules\": ").append(completeSchedules).append(",\n");
+		List<long[]> sortedImprovements = new ArrayList<long[]>(improvements);
+		Collections.sort(sortedImprovements, new Comparator<long[]>() {
+			@Override
+			public int compare(long[] i1, long[] i2) {
+				return i1[0] != i2[0] ? Long.compare(i1[0], i2[0]) : Long.compare(i2[1], i1[1]);
+			}
+		});
+		json.append("  \"improvements\": [");
+		for (int i = 0; i < sortedImprovements.size(); i++) {
+			long[] improvement = sortedImprovements.get(i);
+			json.append(i == 0 ? "" : ", ").append("{\"timeMillis\": ").append(improvement[0])
+					.append(", \"length\": ").append(improvement[1]).append("}");
+		}
+		json.append("],\n");
+
+		json.append("  \"prunes\": {\"makespan\": ").append(makespanPrunes)
+				.append(", \"lowerBound\": ").append(lowerBoundPrunes)
+				.append(", \"symmetry\": ").append(symmetryPrunes)
+				.append(", \"transposition\": ").append(transpositionPrunes).append("}");
+
+		if (workTimes.length > 0) {
+			json.append(",\n  \"workers\": [");
+			for (int i = 0; i < workTimes.length; i++) {
+				long work = Math.min(workTimes[i], elapsed);
+				json.append(i == 0 ? "\n" : ",\n").append(String.format(Locale.ROOT,
+						"    {\"worker\": %d, \"workMillis\": %d, \"idleMillis\": %d}",
+						i + 1, work / 1000000, (elapsed - work) / 1000000));
+			}
+			json.append("\n  ]");
+		}
+		json.append("\n}");
+		return json.toString();
+	}
+}
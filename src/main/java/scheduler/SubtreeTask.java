@@ -0,0 +1,129 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+/**
+ * Fork/join task which searches one subtree of the schedule space with a PnV_DFS_BaB_Scheduler.
+ * While it runs the scheduler can split off the unexplored siblings at its shallowest open level
+ * as new tasks, which idle workers in the pool steal.
+ */
+class SubtreeTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private TaskGraph graph;
+	private ProcessorAllocatorInterface processorAllocator;
+	private int[] candidates;
+	private Incumbent incumbent;
+	private TranspositionTable transpositionTable;
+	private SearchLimit searchLimit;
+	// Collects the work left when the search stops, null when not wanted
+	private SearchCheckpoint checkpoint;
+	// Stack of a saved search this task continues, null for a new subtree
+	private SearchCheckpoint.Stack savedStack;
+	// Statistics of the whole search, null when not wanted
+	private SearchStatistics statistics;
+	// Snapshot of the whole search for other threads, null when not wanted
+	private SearchProgress progress;
+	private NodeTuple[] scheduleInfo;
+	private List<Node> scheduledNodes;
+	
+	private List<SubtreeTask> forkedTasks = new ArrayList<SubtreeTask>();
+
+	public SubtreeTask(TaskGraph graph, ProcessorAllocatorInterface processorAllocator, int[] candidates,
+			Incumbent incumbent, TranspositionTable transpositionTable, SearchLimit searchLimit, SearchCheckpoint checkpoint,
+			SearchStatistics statistics, SearchProgress progress, NodeTuple[] scheduleInfo, List<Node> scheduledNodes) {
+		this.graph = graph;
+		this.processorAllocator = processorAllocator;
+		this.candidates = candidates;
+		this.incumbent = incumbent;
+		this.transpositionTable = transpositionTable;
+		this.searchLimit = searchLimit;
+		this.checkpoint = checkpoint;
+		this.statistics = statistics;
+		this.progress = progress;
+		this.scheduleInfo = scheduleInfo;
+		this.scheduledNodes = scheduledNodes;
+	}
+
+	@Override
+	protected void compute() {
+		PnV_DFS_BaB_Scheduler scheduler = new PnV_DFS_BaB_Scheduler(new ValidNodeFinder(), processorAllocator);
+		scheduler.setSubtreeTask(this);
+		scheduler.setTranspositionTable(transpositionTable);
+		scheduler.setSearchLimit(searchLimit);
+		scheduler.setCheckpoint(checkpoint);
+		scheduler.setSavedStack(savedStack);
+		
+		Thread thread = Thread.currentThread();
+		int worker = thread instanceof ForkJoinWorkerThread ? ((ForkJoinWorkerThread) thread).getPoolIndex() : 0;
+		if (progress != null) {
+			scheduler.setProgress(progress, worker);
+			progress.setBusy(worker, true);
+		}
+		
+		if (statistics == null) {
+			scheduler.initiateNewSubtree(graph, processorAllocator, candidates, incumbent, scheduleInfo, scheduledNodes);
+		} else {
+			// Count into this task's own statistics, so workers never write to shared counters
+			SearchStatistics workerStatistics = statistics.createWorkerStatistics();
+			scheduler.setStatistics(workerStatistics);
+			long start = System.nanoTime();
+			scheduler.initiateNewSubtree(graph, processorAllocator, candidates, incumbent, scheduleInfo, scheduledNodes);
+			statistics.addWorkTime(System.nanoTime() - start);
+			statistics.merge(workerStatistics);
+		}
+		
+		if (progress != null) {
+			progress.setBusy(worker, false);
+		}
+		
+		// Release the search state before waiting on split off work
+		candidates = null;
+		savedStack = null;
+		scheduleInfo = null;
+		scheduledNodes = null;
+		
+		for (SubtreeTask task : forkedTasks) {
+			task.join();
+		}
+	}
+	
+	/*
+	 * Continues the given saved stack instead of searching from the candidates alone
+	 */
+	void setSavedStack(SearchCheckpoint.Stack savedStack) {
+		this.savedStack = savedStack;
+	}
+	
+	SearchCheckpoint getCheckpoint() {
+		return checkpoint;
+	}
+	
+	SearchStatistics getStatistics() {
+		return statistics;
+	}
+	
+	SearchProgress getProgress() {
+		return progress;
+	}
+	
+	/*
+	 * Work should only be split off while nothing this worker has split off is still waiting to be stolen
+	 */
+	boolean shouldSplit() {
+		return getSurplusQueuedTaskCount() <= 0;
+	}
+	
+	void forkSubtree(SubtreeTask task) {
+		forkedTasks.add(task);
+		task.fork();
+	}
+}
@@ -0,0 +1,105 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable records partial schedules that have already been expanded, so a search reaching
+ * the same partial schedule through a different node order can skip the duplicate subtree.
+ * 
+ * A partial schedule is identified by the set of (node, start time, processor) placements in it, hashed
+ * into two independent 64 bit fingerprints that are updated incrementally as nodes are placed and removed.
+ * The schedulers build them with ScheduleFingerprint so processor relabellings of a schedule match.
+ * Entries are held in fixed size buckets within a memory cap, when a bucket is full an existing entry
+ * is replaced. Losing an entry only costs a repeated search, never a wrong result.
+ * 
+ * The table can be shared between worker threads. Races between writers can only lose entries.
+ */
+public class TranspositionTable {
+
+	public static final int DEFAULT_SIZE_MB = 32;
+
+	private static final int BUCKET_SIZE = 4;
+	private static final int BYTES_PER_ENTRY = 16;
+	private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+	private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+	private final long[] keys1;
+	private final long[] keys2;
+	private final int bucketMask;
+
+	public TranspositionTable(int megabytes) {
+		long maxEntries = ((long) megabytes << 20) / BYTES_PER_ENTRY;
+		// Round down to a power of two number of buckets
+		int numBuckets = Integer.highestOneBit((int) Math.max(1, Math.min(maxEntries / BUCKET_SIZE, 1 << 26)));
+		keys1 = new long[numBuckets * BUCKET_SIZE];
+		keys2 = new long[numBuckets * BUCKET_SIZE];
+		bucketMask = numBuckets - 1;
+	}
+
+	/*
+	 * First fingerprint of a single placement, XOR these over all placements for the partial schedule
+	 */
+	public static long hash1(int node, int startTime, int processor) {
+		return mix(placementKey(node, startTime, processor) ^ SEED_1);
+	}
+
+	/*
+	 * Second, independent fingerprint of a single placement
+	 */
+	public static long hash2(int node, int startTime, int processor) {
+		return mix(placementKey(node, startTime, processor) * SEED_1 + SEED_2);
+	}
+
+	/*
+	 * Records the partial schedule, returns false if it has already been recorded
+	 */
+	public boolean addIfAbsent(long hash1, long hash2) {
+		// Zero marks an empty slot
+		if (hash1 == 0) {
+			hash1 = 1;
+		}
+		int bucket = (int) (hash1 ^ (hash1 >>> 32)) & bucketMask;
+		int start = bucket * BUCKET_SIZE;
+
+		for (int i = start; i < start + BUCKET_SIZE; i++) {
+			long key = keys1[i];
+			if (key == 0) {
+				keys2[i] = hash2;
+				keys1[i] = hash1;
+				return true;
+			}
+			if (key == hash1 && keys2[i] == hash2) {
+				return false;
+			}
+		}
+
+		// Bucket is full, replace an entry chosen by the second fingerprint
+		int victim = start + (int) (hash2 >>> 62);
+		keys2[victim] = hash2;
+		keys1[victim] = hash1;
+		return true;
+	}
+
+	/*
+	 * Forgets every recorded partial schedule
+	 */
+	public void clear() {
+		Arrays.fill(keys1, 0);
+		Arrays.fill(keys2, 0);
+	}
+
+	public int getCapacity() {
+		return keys1.length;
+	}
+
+	private static long placementKey(int node, int startTime, int processor) {
+		return ((long) node << 40) ^ ((long) processor << 32) ^ (startTime & 0xFFFFFFFFL);
+	}
+
+	// SplitMix64 finaliser
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,36 +1,141 @@
 package scheduler;
 
-import models.Edge;
 import models.Node;
 import models.NodeTuple;
+import models.TaskGraph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 /**
  * @author Benjamin Collins, Jacky Mai
  *
  * ValidNodeFinder takes a list of nodes and finds all nodes that have their dependencies
- * fulfilled.
+ * fulfilled. The set of ready nodes is kept up to date as nodes are added to and removed from
+ * the schedule, using a count of unscheduled parents for every node.
+ *
+ * Members of an equivalence class of identical nodes are only ready once the previous member of
+ * their class has been scheduled, so the class is always scheduled in one fixed order.
  */
 
 public class ValidNodeFinder implements ValidNodeFinderInterface {
 
-	HashMap<String, NodeTuple> nodeInfo;
+	TaskGraph graph;
+	NodeTuple[] nodeInfo;
+	
+	int[] unscheduledParents;
+	// Ready nodes are held unordered in readyNodes[0..numReady), readyPositions gives each node's index
+	int[] readyNodes;
+	int[] readyPositions;
+	int numReady;
+	
+	// Scratch space for sorting the ready set into a fixed task order
+	int[] fixedOrder;
+	
+	@Override
+	public void addGraph(TaskGraph graph) {
+		this.graph = graph;
+	}
+	
+	@Override
+	public void addNodeInfo(NodeTuple[] nodeInfo) {
+		this.nodeInfo = nodeInfo;
+		resetReadyNodes();
+	}
+	
+	// Rebuild parent counts and the ready set from the hasRun flags of the current schedule
+	private void resetReadyNodes() {
+		int numNodes = graph.getNumberNodes();
+		unscheduledParents = new int[numNodes];
+		readyNodes = new int[numNodes];
+		readyPositions = new int[numNodes];
+		fixedOrder = new int[numNodes];
+		numReady = 0;
+		
+		for (int i = 0; i < numNodes; i++) {
+			readyPositions[i] = -1;
+			for (int p = graph.getParentStart(i); p < graph.getParentEnd(i); p++) {
+				if (!nodeInfo[graph.getParent(p)].getHasRun()) {
+					unscheduledParents[i]++;
+				}
+			}
+			int predecessor = graph.getEquivalentPredecessor(i);
+			if (predecessor >= 0 && !nodeInfo[predecessor].getHasRun()) {
+				unscheduledParents[i]++;
+			}
+		}
+		
+		for (int i = 0; i < numNodes; i++) {
+			if (unscheduledParents[i] == 0 && !nodeInfo[i].getHasRun()) {
+				addReadyNode(i);
+			}
+		}
+	}
+	
+	@Override
+	public void addScheduledNode(int node) {
+		removeReadyNode(node);
+		for (int c = graph.getChildStart(node); c < graph.getChildEnd(node); c++) {
+			releaseDependent(graph.getChild(c));
+		}
+		int successor = graph.getEquivalentSuccessor(node);
+		if (successor >= 0) {
+			releaseDependent(successor);
+		}
+	}
 	
 	@Override
-	public void addNodeInfo(HashMap<String, NodeTuple> nodeInfo) {
-		this.nodeInfo = nodeInfo;		
+	public void removeScheduledNode(int node) {
+		for (int c = graph.getChildStart(node); c < graph.getChildEnd(node); c++) {
+			blockDependent(graph.getChild(c));
+		}
+		int successor = graph.getEquivalentSuccessor(node);
+		if (successor >= 0) {
+			blockDependent(successor);
+		}
+		addReadyNode(node);
+	}
+	
+	private void releaseDependent(int node) {
+		unscheduledParents[node]--;
+		if (unscheduledParents[node] == 0) {
+			addReadyNode(node);
+		}
+	}
+	
+	private void blockDependent(int node) {
+		if (unscheduledParents[node] == 0) {
+			removeReadyNode(node);
+		}
+		unscheduledParents[node]++;
+	}
+	
+	private void addReadyNode(int node) {
+		readyPositions[node] = numReady;
+		readyNodes[numReady] = node;
+		numReady++;
+	}
+	
+	private void removeReadyNode(int node) {
+		int position = readyPositions[node];
+		if (position < 0) {
+			return;
+		}
+		// Fill the gap with the last ready node
+		numReady--;
+		int lastNode = readyNodes[numReady];
+		readyNodes[position] = lastNode;
+		readyPositions[lastNode] = position;
+		readyPositions[node] = -1;
 	}
 	
     // Find nodes with no dependencies (root) by searching for nodes with no incoming edges
-    public List<Node> findRootNodes(List<Node> nodes) {
+    public List<Node> findRootNodes() {
         List<Node> rootNodes = new ArrayList<Node>();
 
-        for (Node node : nodes) {
-            if (node.getIncomingEdges() == null || node.getIncomingEdges().size() == 0) {
-                rootNodes.add(node);
+        for (int i = 0; i < graph.getNumberNodes(); i++) {
+            if (graph.getNumberParents(i) == 0) {
+                rootNodes.add(graph.getNode(i));
             }
         }
 
@@ -39,21 +144,20 @@ public class ValidNodeFinder implements ValidNodeFinderInterface {
 
     // Check whether children or dependent nodes for particular node is satisfied
     // If yes, add it to a list of satisfied nodes and return it
-    public List<Node> findSatisfiedChildren(Node node) {
+    public List<Node> findSatisfiedChildren(int node) {
         // Children will not be satisfied unless input node itself is satisfied
 
-        if (nodeInfo.get(node.getName()).getHasRun() == false) {
+        if (nodeInfo[node].getHasRun() == false) {
 
             return new ArrayList<Node>();
         }
 
         List<Node> satisfiedNodes = new ArrayList<Node>();
-        List<Edge> edges = node.getOutgoingEdges();
 
-        for (Edge edge : edges) {
-            Node endNode = edge.getEndNode();
-            if (isAvailable(endNode)) {
-                satisfiedNodes.add(endNode);
+        for (int c = graph.getChildStart(node); c < graph.getChildEnd(node); c++) {
+            int child = graph.getChild(c);
+            if (isAvailable(child)) {
+                satisfiedNodes.add(graph.getNode(child));
             }
         }
 
@@ -61,31 +165,156 @@ public class ValidNodeFinder implements ValidNodeFinderInterface {
     }
 
     // Check incoming edges for particular node and determine whether it is available or not
-    public boolean isAvailable(Node node) {
-        List<Edge> edges = node.getIncomingEdges();
-
-        for (Edge edge : edges) {
-            Node startNode = edge.getStartNode();
-            if (nodeInfo.get(startNode.getName()).getHasRun() == false) {
+    public boolean isAvailable(int node) {
+        for (int p = graph.getParentStart(node); p < graph.getParentEnd(node); p++) {
+            if (nodeInfo[graph.getParent(p)].getHasRun() == false) {
 
                 return false;
             }
         }
 
+        int predecessor = graph.getEquivalentPredecessor(node);
+        if (predecessor >= 0 && nodeInfo[predecessor].getHasRun() == false) {
+            return false;
+        }
+
         return true;
     }
 
-    // Given a list of nodes, find all of which have their dependencies satisfied
-    public List<Node> findSatisfiedNodes(List<Node> nodes) {
+    // Find all unscheduled nodes in the graph which have their dependencies satisfied
+    public List<Node> findSatisfiedNodes() {
 
-        List<Node> satisfiedNodes = new ArrayList<Node>();
-        for (Node node : nodes) {
-            if (isAvailable(node) && !(nodeInfo.get(node.getName()).getHasRun())) {
+        List<Node> satisfiedNodes = new ArrayList<Node>(numReady);
+        for (int i = 0; i < numReady; i++) {
+            satisfiedNodes.add(graph.getNode(readyNodes[i]));
+        }
+
+        return satisfiedNodes;
+    }
+
+    // Nodes to branch on at the current level, all ready nodes unless they have a fixed task order
+    // in which case only the first of that order needs to be tried
+    public List<Node> findSchedulableNodes() {
+        int head = findFixedOrderHead();
+        if (head < 0) {
+            return findSatisfiedNodes();
+        }
 
-                satisfiedNodes.add(node);
+        List<Node> schedulableNodes = new ArrayList<Node>(1);
+        schedulableNodes.add(graph.getNode(head));
+        return schedulableNodes;
+    }
+
+    // Writes the ids of the nodes to branch on into nodes from offset, returns how many there are
+    public int findSchedulableNodes(int[] nodes, int offset) {
+        int head = findFixedOrderHead();
+        if (head >= 0) {
+            nodes[offset] = head;
+            return 1;
+        }
+
+        System.arraycopy(readyNodes, 0, nodes, offset, numReady);
+        return numReady;
+    }
+
+    /*
+     * Ready nodes have a fixed task order when each has at most one parent, every parent is on the same
+     * processor, and either none of them has a child or all of them have the same single child. Then
+     * some optimal schedule runs them in order of data ready time, provided their out edge costs do not
+     * increase along that order. Data ready times are checked both on and off the parents' processor.
+     * Childless nodes mixed with ones that have a child are not ordered, since a tie in data ready time
+     * could then put the child's parent last when it should go first.
+     * Returns the first node of the order, or -1 if there is no fixed order.
+     */
+    private int findFixedOrderHead() {
+        if (numReady < 2) {
+            return -1;
+        }
+
+        int child = -1;
+        int numChildless = 0;
+        int parentProcessor = -1;
+        for (int i = 0; i < numReady; i++) {
+            int node = readyNodes[i];
+            if (graph.getNumberParents(node) > 1 || graph.getNumberChildren(node) > 1) {
+                return -1;
+            }
+            if (graph.getNumberChildren(node) == 1) {
+                int nodeChild = graph.getChild(graph.getChildStart(node));
+                if (child >= 0 && nodeChild != child) {
+                    return -1;
+                }
+                child = nodeChild;
+            } else {
+                numChildless++;
+            }
+            if (graph.getNumberParents(node) == 1) {
+                int processor = nodeInfo[graph.getParent(graph.getParentStart(node))].getProcessor();
+                if (parentProcessor >= 0 && processor != parentProcessor) {
+                    return -1;
+                }
+                parentProcessor = processor;
             }
         }
+        if (child >= 0 && numChildless > 0) {
+            return -1;
+        }
 
-        return satisfiedNodes;
+        // Insertion sort by data ready time, then by decreasing out edge cost, the ready set is small
+        for (int i = 0; i < numReady; i++) {
+            int node = readyNodes[i];
+            int j = i;
+            while (j > 0 && compareFixedOrder(node, fixedOrder[j - 1]) < 0) {
+                fixedOrder[j] = fixedOrder[j - 1];
+                j--;
+            }
+            fixedOrder[j] = node;
+        }
+
+        for (int i = 1; i < numReady; i++) {
+            int previous = fixedOrder[i - 1];
+            int node = fixedOrder[i];
+            if (outCost(node) > outCost(previous) || parentEndTime(node) < parentEndTime(previous)) {
+                return -1;
+            }
+        }
+        return fixedOrder[0];
+    }
+
+    private int compareFixedOrder(int n1, int n2) {
+        int drt1 = parentEndTime(n1) + inCost(n1);
+        int drt2 = parentEndTime(n2) + inCost(n2);
+        if (drt1 != drt2) {
+            return drt1 - drt2;
+        }
+        if (outCost(n1) != outCost(n2)) {
+            return outCost(n2) - outCost(n1);
+        }
+        return n1 - n2;
+    }
+
+    private int parentEndTime(int node) {
+        if (graph.getNumberParents(node) == 0) {
+            return 0;
+        }
+        int parent = graph.getParent(graph.getParentStart(node));
+        return nodeInfo[parent].getStartTime() + graph.getWeight(parent);
+    }
+
+    private int inCost(int node) {
+        return graph.getNumberParents(node) == 0 ? 0 : graph.getParentCost(graph.getParentStart(node));
+    }
+
+    private int outCost(int node) {
+        return graph.getNumberChildren(node) == 0 ? 0 : graph.getChildCost(graph.getChildStart(node));
+    }
+
+    // Size of the ready set, read with getReadyNode to walk it without allocating
+    public int getNumberReadyNodes() {
+        return numReady;
+    }
+
+    public int getReadyNode(int index) {
+        return readyNodes[index];
     }
 }
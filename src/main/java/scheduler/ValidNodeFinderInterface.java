@@ -3,8 +3,7 @@ package scheduler;
 import models.Node;
 
 import models.NodeTuple;
-
-import java.util.HashMap;
+import models.TaskGraph;
 
 import java.util.List;
 
@@ -14,12 +13,26 @@ import java.util.List;
 
 public interface ValidNodeFinderInterface {
 
-	public void addNodeInfo(HashMap<String, NodeTuple> nodeInfo);
+	public void addGraph(TaskGraph graph);
+	
+	public void addNodeInfo(NodeTuple[] nodeInfo);
+	
+	public List<Node> findRootNodes();
+	
+	public List<Node> findSatisfiedChildren(int node);
+	
+	public List<Node> findSatisfiedNodes();
+	
+	public List<Node> findSchedulableNodes();
+	
+	public int findSchedulableNodes(int[] nodes, int offset);
+	
+	public int getNumberReadyNodes();
 	
-	public List<Node> findRootNodes(List<Node> nodes);
+	public int getReadyNode(int index);
 	
-	public List<Node> findSatisfiedChildren(Node node);
+	public void addScheduledNode(int node);
 	
-	public List<Node> findSatisfiedNodes(List<Node> nodes);
+	public void removeScheduledNode(int node);
 
 }
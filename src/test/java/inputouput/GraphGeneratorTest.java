@@ -0,0 +1,119 @@
+package inputouput;
+
+import inputoutput.GraphGenerator;
+import inputoutput.GraphGenerator.Family;
+import inputoutput.GraphGenerator.WeightDistribution;
+import inputoutput.InputReader;
+import models.Edge;
+import models.Node;
+import models.TaskGraph;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraphGeneratorTest {
+
+    @Test
+    public void testEveryFamilyIsReadable() throws IOException {
+        for (Family family : Family.values()) {
+            InputReader reader = writeAndRead(new GraphGenerator(family, 40, 7));
+            assertEquals(family.getName(), 40, reader.getNodeList().size());
+
+            // Every edge goes forwards in a topological order, so the bottom levels are finite
+            TaskGraph graph = new TaskGraph(reader.getNodeList());
+            for (int i = 0; i < graph.getNumberNodes(); i++) {
+                assertTrue(graph.getBottomLevel(i) <= graph.getTotalWeight() + totalEdgeCost(reader.getEdgeList()));
+            }
+        }
+    }
+
+    @Test
+    public void testSingleSourceAndSink() throws IOException {
+        List<Node> outTree = writeAndRead(new GraphGenerator(Family.OUT_TREE, 30, 1)).getNodeList();
+        assertEquals(1, countSources(outTree));
+
+        List<Node> inTree = writeAndRead(new GraphGenerator(Family.IN_TREE, 30, 1)).getNodeList();
+        assertEquals(1, countSinks(inTree));
+
+        for (Family family : new Family[]{Family.FORK_JOIN, Family.PIPELINE, Family.SERIES_PARALLEL}) {
+            List<Node> nodes = writeAndRead(new GraphGenerator(family, 30, 1)).getNodeList();
+            assertEquals(family.getName(), 1, countSources(nodes));
+            assertEquals(family.getName(), 1, countSinks(nodes));
+        }
+    }
+
+    @Test
+    public void testSeedIsReproducible() {
+        GraphGenerator first = new GraphGenerator(Family.RANDOM, 50, 42);
+        GraphGenerator second = new GraphGenerator(Family.RANDOM, 50, 42);
+        GraphGenerator other = new GraphGenerator(Family.RANDOM, 50, 43);
+
+        assertEquals(first.createDot(), second.createDot());
+        assertEquals(first.createDot(), first.createDot());
+        assertNotEquals(first.createDot(), other.createDot());
+    }
+
+    @Test
+    public void testCcrAndWeights() throws IOException {
+        GraphGenerator generator = new GraphGenerator(Family.STENCIL, 49, 3);
+        generator.setCcr(5.0);
+        generator.setWeightDistribution(WeightDistribution.CONSTANT);
+        generator.setWeightRange(2, 8);
+        InputReader reader = writeAndRead(generator);
+
+        int totalWeight = 0;
+        for (Node node : reader.getNodeList()) {
+            assertEquals(8, node.getWeight());
+            totalWeight += node.getWeight();
+        }
+        // Costs are rounded per edge, so the ratio is only close
+        double ccr = (double) totalEdgeCost(reader.getEdgeList()) / totalWeight;
+        assertEquals(5.0, ccr, 0.2);
+    }
+
+    private InputReader writeAndRead(GraphGenerator generator) throws IOException {
+        File file = File.createTempFile("generated", ".dot");
+        try {
+            generator.writeFile(file);
+            InputReader reader = new InputReader();
+            reader.readFile(file);
+            return reader;
+        } finally {
+            file.delete();
+        }
+    }
+
+    private int totalEdgeCost(List<Edge> edges) {
+        int total = 0;
+        for (Edge edge : edges) {
+            total += edge.getWeight();
+        }
+        return total;
+    }
+
+    private int countSources(List<Node> nodes) {
+        int sources = 0;
+        for (Node node : nodes) {
+            if (node.getNumberIncomingEdges() == 0) {
+                sources++;
+            }
+        }
+        return sources;
+    }
+
+    private int countSinks(List<Node> nodes) {
+        int sinks = 0;
+        for (Node node : nodes) {
+            if (node.getNumberOutgoingEdges() == 0) {
+                sinks++;
+            }
+        }
+        return sinks;
+    }
+}
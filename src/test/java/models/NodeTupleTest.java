@@ -0,0 +1,61 @@
+package models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NodeTupleTest {
+
+    @Test
+    public void testCheckedProcessors() {
+        NodeTuple tuple = new NodeTuple();
+        tuple.addCheckedProcessor(1);
+        tuple.addCheckedProcessor(64);
+        tuple.addCheckedProcessor(64);
+
+        assertTrue(tuple.isCheckedProcessor(1));
+        assertTrue(tuple.isCheckedProcessor(64));
+        assertFalse(tuple.isCheckedProcessor(2));
+        assertEquals(2, tuple.getNumberCheckedProcessors());
+
+        tuple.resetCheckedProcessors();
+        assertFalse(tuple.isCheckedProcessor(1));
+        assertEquals(0, tuple.getNumberCheckedProcessors());
+    }
+
+    @Test
+    public void testMoreThan64Processors() {
+        NodeTuple tuple = new NodeTuple();
+        tuple.addCheckedProcessor(65);
+        tuple.addCheckedProcessor(200);
+
+        assertTrue(tuple.isCheckedProcessor(65));
+        assertTrue(tuple.isCheckedProcessor(200));
+        assertFalse(tuple.isCheckedProcessor(1));
+        assertFalse(tuple.isCheckedProcessor(129));
+        assertEquals(2, tuple.getNumberCheckedProcessors());
+
+        NodeTuple clone = tuple.clone();
+        tuple.resetCheckedProcessors();
+        assertFalse(tuple.isCheckedProcessor(200));
+        assertTrue(clone.isCheckedProcessor(200));
+        assertEquals(2, clone.getNumberCheckedProcessors());
+    }
+
+    @Test
+    public void testListConstructor() {
+        ArrayList<Integer> checked = new ArrayList<Integer>();
+        checked.add(3);
+        NodeTuple tuple = new NodeTuple(4, 2, checked, true);
+
+        assertTrue(tuple.isCheckedProcessor(3));
+        assertEquals(1, tuple.getNumberCheckedProcessors());
+        assertEquals(4, tuple.getStartTime());
+        assertEquals(2, tuple.getProcessor());
+        assertTrue(tuple.getHasRun());
+    }
+}
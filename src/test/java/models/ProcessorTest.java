@@ -0,0 +1,51 @@
+package models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProcessorTest {
+
+    @Test
+    public void testAddAndRemove() {
+        Processor processor = new Processor();
+        assertTrue(processor.isEmpty());
+        assertEquals(0, processor.getEndTime());
+
+        processor.addNode(0, 0, 2);
+        processor.addNode(1, 5, 3);
+        assertFalse(processor.isEmpty());
+        assertEquals(8, processor.getEndTime());
+        assertEquals(9, processor.findEarliestStartTime(9));
+        assertEquals(8, processor.findEarliestStartTime(4));
+
+        // Removing the most recent node restores the previous end time
+        processor.removeNode(1);
+        assertEquals(2, processor.getEndTime());
+
+        // A node that is not on top is not on this processor
+        processor.removeNode(1);
+        assertEquals(1, processor.getNumberNodes());
+
+        processor.removeNode(0);
+        assertTrue(processor.isEmpty());
+        assertEquals(0, processor.getEndTime());
+    }
+
+    @Test
+    public void testGrowsPastCapacity() {
+        Processor processor = new Processor(1);
+        for (int i = 0; i < 10; i++) {
+            processor.addNode(i, i, 1);
+        }
+        assertEquals(10, processor.getNumberNodes());
+        assertEquals(10, processor.getEndTime());
+
+        for (int i = 9; i >= 0; i--) {
+            processor.removeNode(i);
+            assertEquals(i, processor.getEndTime());
+        }
+    }
+}
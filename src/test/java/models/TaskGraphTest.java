@@ -0,0 +1,110 @@
+package models;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskGraphTest {
+    Node a, b, c, d;
+    TaskGraph graph;
+
+    @Before
+    // A -> B; A -> C; B,C -> D
+    public void init() {
+        a = new Node("a", 1);
+        b = new Node("b", 2);
+        c = new Node("c", 3);
+        d = new Node("d", 1);
+
+        Edge ab = new Edge(a, b, 3);
+        Edge ac = new Edge(a, c, 1);
+        Edge bd = new Edge(b, d, 1);
+        Edge cd = new Edge(c, d, 2);
+        a.addOutgoingEdge(ab);
+        a.addOutgoingEdge(ac);
+        b.addOutgoingEdge(bd);
+        c.addOutgoingEdge(cd);
+        b.addIncomingEdge(ab);
+        c.addIncomingEdge(ac);
+        d.addIncomingEdge(bd);
+        d.addIncomingEdge(cd);
+
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(a);
+        nodes.add(b);
+        nodes.add(c);
+        nodes.add(d);
+        graph = new TaskGraph(nodes);
+    }
+
+    @Test
+    public void testIds() {
+        assertEquals(4, graph.getNumberNodes());
+        assertEquals(0, a.getId());
+        assertEquals(3, d.getId());
+        assertEquals(c, graph.getNode(2));
+        assertEquals(7, graph.getTotalWeight());
+    }
+
+    @Test
+    public void testAdjacency() {
+        assertEquals(2, graph.getNumberChildren(a.getId()));
+        assertEquals(2, graph.getNumberParents(d.getId()));
+
+        int first = graph.getParentStart(d.getId());
+        assertEquals(b.getId(), graph.getParent(first));
+        assertEquals(1, graph.getParentCost(first));
+        assertEquals(c.getId(), graph.getParent(first + 1));
+        assertEquals(2, graph.getParentCost(first + 1));
+
+        assertEquals(graph.getChildStart(d.getId()), graph.getChildEnd(d.getId()));
+    }
+
+    @Test
+    public void testBottomLevels() {
+        assertEquals(1, graph.getBottomLevel(d.getId()));
+        assertEquals(4, graph.getBottomLevel(c.getId()));
+        assertEquals(5, graph.getBottomLevel(a.getId()));
+    }
+
+    @Test
+    public void testEquivalentNodes() {
+        // b and c differ in weight and edge costs, so nothing is equivalent
+        for (int i = 0; i < graph.getNumberNodes(); i++) {
+            assertEquals(-1, graph.getEquivalentPredecessor(i));
+            assertEquals(-1, graph.getEquivalentSuccessor(i));
+        }
+
+        // E -> F, G, H with identical weights and costs, H's edge cost differs
+        Node e = new Node("e", 2);
+        Node f = new Node("f", 3);
+        Node g = new Node("g", 3);
+        Node h = new Node("h", 3);
+        Edge ef = new Edge(e, f, 1);
+        Edge eg = new Edge(e, g, 1);
+        Edge eh = new Edge(e, h, 2);
+        e.addOutgoingEdge(ef);
+        e.addOutgoingEdge(eg);
+        e.addOutgoingEdge(eh);
+        f.addIncomingEdge(ef);
+        g.addIncomingEdge(eg);
+        h.addIncomingEdge(eh);
+
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(e);
+        nodes.add(f);
+        nodes.add(g);
+        nodes.add(h);
+        TaskGraph fork = new TaskGraph(nodes);
+
+        assertEquals(-1, fork.getEquivalentPredecessor(f.getId()));
+        assertEquals(g.getId(), fork.getEquivalentSuccessor(f.getId()));
+        assertEquals(f.getId(), fork.getEquivalentPredecessor(g.getId()));
+        assertEquals(-1, fork.getEquivalentSuccessor(g.getId()));
+        assertEquals(-1, fork.getEquivalentPredecessor(h.getId()));
+    }
+}
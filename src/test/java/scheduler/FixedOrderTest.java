@@ -0,0 +1,159 @@
+package scheduler;
+
+import models.Edge;
+import models.Node;
+import models.TaskGraph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the schedulers that branch on a fixed task order against a brute force search of every
+ * order and processor, on graphs where the fixed order can be tempted into the wrong node.
+ */
+public class FixedOrderTest {
+
+    @Test
+    public void testChildlessNodesTiedWithFreeChildEdge() {
+        // 0 --> 1, 2, 4 at cost 2 and 2 --> 3 at no cost, optimal only with 2 before 1
+        int[] weights = {4, 3, 1, 2, 1};
+        int[][] edges = {{0, 1, 2}, {0, 2, 2}, {0, 4, 2}, {2, 3, 0}};
+        assertEquals(8, bruteForce(weights, edges, 3));
+        checkSchedulers(weights, edges, 3);
+    }
+
+    @Test
+    public void testChildlessNodeTiedWithFreeChildEdge() {
+        int[] weights = {2, 2, 1, 1};
+        int[][] edges = {{0, 1, 3}, {0, 2, 3}, {2, 3, 0}};
+        assertEquals(5, bruteForce(weights, edges, 2));
+        checkSchedulers(weights, edges, 2);
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(306);
+        for (int n = 0; n < 200; n++) {
+            int numNodes = 4 + random.nextInt(3);
+            int[] weights = new int[numNodes];
+            List<int[]> edgeList = new ArrayList<int[]>();
+            for (int i = 0; i < numNodes; i++) {
+                weights[i] = 1 + random.nextInt(4);
+                for (int j = i + 1; j < numNodes; j++) {
+                    if (random.nextInt(3) == 0) {
+                        edgeList.add(new int[]{i, j, random.nextInt(4)});
+                    }
+                }
+            }
+            checkSchedulers(weights, edgeList.toArray(new int[edgeList.size()][]), 2 + random.nextInt(2));
+        }
+    }
+
+    private static void checkSchedulers(int[] weights, int[][] edges, int numProcessors) {
+        int expected = bruteForce(weights, edges, numProcessors);
+
+        List<Node> nodes = createNodes(weights, edges);
+        DepthFirst_BaB_Scheduler depthFirst = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(),
+                new ProcessorAllocator(numProcessors));
+        depthFirst.setTranspositionTableSize(1);
+        depthFirst.createSchedule(nodes, createEdges(nodes));
+        assertEquals(expected, depthFirst.getScheduleLength());
+
+        nodes = createNodes(weights, edges);
+        IDAStar_Scheduler iterativeDeepening = new IDAStar_Scheduler(new ValidNodeFinder(),
+                new ProcessorAllocator(numProcessors));
+        iterativeDeepening.setTranspositionTableSize(1);
+        iterativeDeepening.createSchedule(nodes, createEdges(nodes));
+        assertEquals(expected, iterativeDeepening.getScheduleLength());
+
+        nodes = createNodes(weights, edges);
+        MasterSchedulerInterface parallel = MasterScheduler.getInstance(2, numProcessors);
+        parallel.setTranspositionTableSize(1);
+        try {
+            parallel.createSchedule(nodes, createEdges(nodes));
+        } finally {
+            parallel.setTranspositionTableSize(TranspositionTable.DEFAULT_SIZE_MB);
+        }
+        assertEquals(expected, parallel.getScheduleLength());
+    }
+
+    private static List<Node> createNodes(int[] weights, int[][] edges) {
+        List<Node> nodes = new ArrayList<Node>();
+        for (int i = 0; i < weights.length; i++) {
+            nodes.add(new Node(Integer.toString(i), weights[i]));
+        }
+        for (int[] e : edges) {
+            Edge edge = new Edge(nodes.get(e[0]), nodes.get(e[1]), e[2]);
+            nodes.get(e[0]).addOutgoingEdge(edge);
+            nodes.get(e[1]).addIncomingEdge(edge);
+        }
+        return nodes;
+    }
+
+    private static List<Edge> createEdges(List<Node> nodes) {
+        List<Edge> edges = new ArrayList<Edge>();
+        for (Node node : nodes) {
+            edges.addAll(node.getIncomingEdges());
+        }
+        return edges;
+    }
+
+    /*
+     * Length of an optimal schedule, trying every ready node on every processor at its earliest start
+     */
+    private static int bruteForce(int[] weights, int[][] edges, int numProcessors) {
+        TaskGraph graph = new TaskGraph(createNodes(weights, edges));
+        int numNodes = graph.getNumberNodes();
+        return bruteForce(graph, new int[numNodes], new int[numNodes], new int[numProcessors], 0, 0,
+                Integer.MAX_VALUE);
+    }
+
+    // Processors are numbered from 1, 0 marks a node not scheduled yet
+    private static int bruteForce(TaskGraph graph, int[] startTimes, int[] processors, int[] processorEnds,
+                                  int numScheduled, int length, int best) {
+        if (length >= best) {
+            return best;
+        }
+        if (numScheduled == graph.getNumberNodes()) {
+            return length;
+        }
+        for (int node = 0; node < graph.getNumberNodes(); node++) {
+            if (processors[node] != 0 || !isReady(graph, processors, node)) {
+                continue;
+            }
+            for (int p = 1; p <= processorEnds.length; p++) {
+                int start = processorEnds[p - 1];
+                for (int i = graph.getParentStart(node); i < graph.getParentEnd(node); i++) {
+                    int parent = graph.getParent(i);
+                    int cost = processors[parent] == p ? 0 : graph.getParentCost(i);
+                    start = Math.max(start, startTimes[parent] + graph.getWeight(parent) + cost);
+                }
+                int end = start + graph.getWeight(node);
+
+                int previousEnd = processorEnds[p - 1];
+                startTimes[node] = start;
+                processors[node] = p;
+                processorEnds[p - 1] = end;
+                best = bruteForce(graph, startTimes, processors, processorEnds, numScheduled + 1,
+                        Math.max(length, end), best);
+                processorEnds[p - 1] = previousEnd;
+                processors[node] = 0;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isReady(TaskGraph graph, int[] processors, int node) {
+        for (int i = graph.getParentStart(node); i < graph.getParentEnd(node); i++) {
+            if (processors[graph.getParent(i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package scheduler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import models.NodeTuple;
+
+public class IncumbentTest {
+
+	@Test
+	public void testOfferKeepsShortestSchedule() {
+		Incumbent incumbent = new Incumbent(20);
+		NodeTuple[] first = new NodeTuple[0];
+		NodeTuple[] second = new NodeTuple[0];
+
+		// A schedule equal to the initial bound is accepted as there is none yet
+		assertTrue(incumbent.isImprovement(20));
+		assertTrue(incumbent.offer(first, 20));
+		assertSame(first, incumbent.getSchedule());
+
+		// Equal or longer schedules are rejected once one is held
+		assertFalse(incumbent.offer(second, 20));
+		assertFalse(incumbent.offer(second, 25));
+		assertSame(first, incumbent.getSchedule());
+
+		assertTrue(incumbent.offer(second, 15));
+		assertEquals(15, incumbent.getBound());
+		assertSame(second, incumbent.getSchedule());
+	}
+}
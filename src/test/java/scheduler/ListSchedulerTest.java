@@ -0,0 +1,73 @@
+package scheduler;
+
+import models.Edge;
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListSchedulerTest {
+    Node a, b, c, d;
+    TaskGraph graph;
+
+    @Before
+    // A -> B; A -> C; A -> D with D far longer than B and C
+    public void init() {
+        a = new Node("a", 2);
+        b = new Node("b", 3);
+        c = new Node("c", 3);
+        d = new Node("d", 6);
+
+        Edge ab = new Edge(a, b, 1);
+        Edge ac = new Edge(a, c, 1);
+        Edge ad = new Edge(a, d, 4);
+        a.addOutgoingEdge(ab);
+        a.addOutgoingEdge(ac);
+        a.addOutgoingEdge(ad);
+        b.addIncomingEdge(ab);
+        c.addIncomingEdge(ac);
+        d.addIncomingEdge(ad);
+
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(a);
+        nodes.add(b);
+        nodes.add(c);
+        nodes.add(d);
+        graph = new TaskGraph(nodes);
+    }
+
+    @Test
+    public void testCriticalPathFirst() {
+        ListScheduler listScheduler = new ListScheduler(graph, 2);
+        NodeTuple[] schedule = listScheduler.createSchedule();
+
+        // D has the longest bottom level and stays with A to avoid its communication cost
+        assertEquals(1, schedule[a.getId()].getProcessor());
+        assertEquals(0, schedule[a.getId()].getStartTime());
+        assertEquals(1, schedule[d.getId()].getProcessor());
+        assertEquals(2, schedule[d.getId()].getStartTime());
+
+        // B and C then go to the other processor once A's data arrives
+        assertEquals(2, schedule[b.getId()].getProcessor());
+        assertEquals(3, schedule[b.getId()].getStartTime());
+        assertEquals(2, schedule[c.getId()].getProcessor());
+        assertEquals(6, schedule[c.getId()].getStartTime());
+
+        assertEquals(9, listScheduler.getScheduleLength());
+    }
+
+    @Test
+    public void testSingleProcessor() {
+        ListScheduler listScheduler = new ListScheduler(graph, 1);
+        listScheduler.createSchedule();
+
+        assertEquals(graph.getTotalWeight(), listScheduler.getScheduleLength());
+    }
+}
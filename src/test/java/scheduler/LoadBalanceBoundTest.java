@@ -0,0 +1,98 @@
+package scheduler;
+
+import models.Edge;
+import models.Node;
+import models.NodeTuple;
+import models.TaskGraph;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoadBalanceBoundTest {
+    Node a, b, c, d;
+    TaskGraph graph;
+    NodeTuple[] nodeInfo = new NodeTuple[4];
+    ProcessorAllocator processorAllocator;
+    LoadBalanceBound loadBalanceBound;
+
+    @Before
+    // A -> B; A -> C; B,C -> D
+    public void init() {
+        a = new Node("a", 1);
+        b = new Node("b", 2);
+        c = new Node("c", 3);
+        d = new Node("d", 1);
+
+        a.addOutgoingEdge(new Edge(a, b, 3));
+        a.addOutgoingEdge(new Edge(a, c, 1));
+        b.addOutgoingEdge(new Edge(b, d, 1));
+        c.addOutgoingEdge(new Edge(c, d, 1));
+        b.addIncomingEdge(new Edge(a, b, 3));
+        c.addIncomingEdge(new Edge(a, c, 1));
+        d.addIncomingEdge(new Edge(b, d, 1));
+        d.addIncomingEdge(new Edge(c, d, 1));
+
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(a);
+        nodes.add(b);
+        nodes.add(c);
+        nodes.add(d);
+        graph = new TaskGraph(nodes);
+
+        for (int i = 0; i < nodeInfo.length; i++) {
+            nodeInfo[i] = new NodeTuple();
+        }
+
+        processorAllocator = new ProcessorAllocator(2);
+        processorAllocator.addGraph(graph);
+        processorAllocator.addNodeInfo(nodeInfo);
+
+        loadBalanceBound = new LoadBalanceBound();
+        loadBalanceBound.initialise(graph, nodeInfo, processorAllocator, null);
+    }
+
+    @Test
+    public void testEmptySchedule() {
+        // 7 units of work over 2 processors rounds up to 4
+        assertEquals(0, loadBalanceBound.getIdleTime());
+        assertEquals(4, loadBalanceBound.findLowerBound(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testIdleTimeRaisesBound() {
+        // a runs 0-1 on processor 1, c waits for communication and runs 2-5 on processor 2
+        processorAllocator.allocateProcessor(a.getId());
+        loadBalanceBound.addScheduledNode(a.getId());
+        nodeInfo[c.getId()].addCheckedProcessor(1);
+        processorAllocator.allocateProcessor(c.getId());
+        loadBalanceBound.addScheduledNode(c.getId());
+
+        assertEquals(2, nodeInfo[c.getId()].getProcessor());
+        assertEquals(2, loadBalanceBound.getIdleTime());
+        // (7 + 2) / 2 rounded up
+        assertEquals(5, loadBalanceBound.findLowerBound(Integer.MAX_VALUE));
+
+        processorAllocator.removeFromProcessor(c.getId(), 2);
+        nodeInfo[c.getId()].setHasRun(false);
+        loadBalanceBound.removeScheduledNode(c.getId());
+        assertEquals(0, loadBalanceBound.getIdleTime());
+        assertEquals(4, loadBalanceBound.findLowerBound(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testInitialiseFromPartialSchedule() {
+        nodeInfo[a.getId()] = new NodeTuple(0, 1, new ArrayList<Integer>(), true);
+        nodeInfo[c.getId()] = new NodeTuple(2, 2, new ArrayList<Integer>(), true);
+        processorAllocator.addToProcessor(a.getId(), 1);
+        processorAllocator.addToProcessor(c.getId(), 2);
+
+        LoadBalanceBound bound = new LoadBalanceBound();
+        bound.initialise(graph, nodeInfo, processorAllocator, null);
+        assertEquals(2, bound.getIdleTime());
+    }
+}
@@ -2,23 +2,19 @@ package scheduler;
 
 import models.Edge;
 import models.Node;
-<<<<<<< HEAD
 import models.NodeTuple;
+import models.TaskGraph;
 
 import org.junit.After;
-=======
->>>>>>> origin/master
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
-<<<<<<< HEAD
-import java.util.HashMap;
-=======
->>>>>>> origin/master
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Henry Wu
@@ -28,10 +24,7 @@ public class ProcessorAllocatorTest {
     List<Node> schedule;
     ProcessorAllocator processorAllocator;
     List<Integer> unavailableProcessors;
-<<<<<<< HEAD
-    HashMap<String, NodeTuple> nodeInfo = new HashMap<String, NodeTuple>();
-=======
->>>>>>> origin/master
+    NodeTuple[] nodeInfo = new NodeTuple[4];
 
     @Before
     // A -> B; A -> C; B,C -> D
@@ -50,123 +43,79 @@ public class ProcessorAllocatorTest {
         d.addIncomingEdge(new Edge(b, d, 1));
         d.addIncomingEdge(new Edge(c, d, 1));
 
-<<<<<<< HEAD
-        nodeInfo.put(a.getName(), new NodeTuple(0, 1, new ArrayList<Integer>(), true));
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(a);
+        nodes.add(b);
+        nodes.add(c);
+        nodes.add(d);
+        TaskGraph graph = new TaskGraph(nodes);
 
-        nodeInfo.put(b.getName(), new NodeTuple(1, 1, new ArrayList<Integer>(), true));
+        nodeInfo[a.getId()] = new NodeTuple(0, 1, new ArrayList<Integer>(), true);
+
+        nodeInfo[b.getId()] = new NodeTuple(1, 1, new ArrayList<Integer>(), true);
         
-        nodeInfo.put(c.getName(), new NodeTuple());
-        nodeInfo.put(d.getName(), new NodeTuple());
-=======
-        a.setProcessor(1);
-        a.setStartTime(0);
-        a.setHasRun(true);
-
-        b.setProcessor(1);
-        b.setStartTime(1);
-        b.setHasRun(true);
->>>>>>> origin/master
+        nodeInfo[c.getId()] = new NodeTuple();
+        nodeInfo[d.getId()] = new NodeTuple();
 
         // Current schedule so far only has node 'a' and 'b' processed and assigned
         schedule = new ArrayList<Node>();
         schedule.add(a);
         schedule.add(b);
 
-<<<<<<< HEAD
         processorAllocator = new ProcessorAllocator(2);
+        processorAllocator.addGraph(graph);
         processorAllocator.addNodeInfo(nodeInfo);
         
-        processorAllocator.addToProcessor(a, 1);
-        processorAllocator.addToProcessor(b, 1);
-=======
-        unavailableProcessors = new ArrayList<Integer>();
-
-        processorAllocator = new ProcessorAllocator(2);
->>>>>>> origin/master
+        processorAllocator.addToProcessor(a.getId(), 1);
+        processorAllocator.addToProcessor(b.getId(), 1);
     }
 
     @Test
     // Tests when processor 2 is unavailable, leaving only 1 processor available
     // Tests that the correct Processor is generated
     public void allocateProcessorTest1() {
-<<<<<<< HEAD
-    	nodeInfo.get(c.getName()).addCheckedProcessor(2);
+    	nodeInfo[c.getId()].addCheckedProcessor(2);
 
         int expectedProcessor = 1;
 
-        processorAllocator.allocateProcessor(schedule, c);
-        int actualProcessor = nodeInfo.get(c.getName()).getProcessor();
+        processorAllocator.allocateProcessor(c.getId());
+        int actualProcessor = nodeInfo[c.getId()].getProcessor();
 
         assertEquals(expectedProcessor, actualProcessor);
         
-        nodeInfo.get(c.getName()).resetCheckedProcessors();
-=======
-        List<Integer> unavailableProcessors = new ArrayList<Integer>();
-        unavailableProcessors.add(2);
-
-        int expectedProcessor = 1;
-
-        processorAllocator.allocateProcessor(schedule, c, unavailableProcessors);
-        int actualProcessor = c.getProcessor();
-
-        assertEquals(expectedProcessor, actualProcessor);
->>>>>>> origin/master
+        nodeInfo[c.getId()].resetCheckedProcessors();
     }
 
     // Tests when processor 2 is unavailable, leaving only 1 processor available
     // Tests that the correct Start Time is generated
     @Test
     public void allocateProcessorTest2() {
-<<<<<<< HEAD
-    	nodeInfo.get(c.getName()).addCheckedProcessor(2);
+    	nodeInfo[c.getId()].addCheckedProcessor(2);
 
         int expectedStartTime = 3;
 
-        processorAllocator.allocateProcessor(schedule, c);
-        int actualStartTime = nodeInfo.get(c.getName()).getStartTime();
+        processorAllocator.allocateProcessor(c.getId());
+        int actualStartTime = nodeInfo[c.getId()].getStartTime();
 
         assertEquals(expectedStartTime, actualStartTime);
         
-        nodeInfo.get(c.getName()).resetCheckedProcessors();
-=======
-        unavailableProcessors.add(2);
-
-        int expectedStartTime = 3;
-
-        processorAllocator.allocateProcessor(schedule, c, unavailableProcessors);
-        int actualStartTime = c.getStartTime();
-
-        assertEquals(expectedStartTime, actualStartTime);
->>>>>>> origin/master
+        nodeInfo[c.getId()].resetCheckedProcessors();
     }
 
     // Tests when it has the option to use either processor 1 or 2, and chooses the best one
     // Tests that the correct Processor is generated
     @Test
     public void allocateProcessorTest3() {
-<<<<<<< HEAD
-        nodeInfo.put(c.getName(), new NodeTuple(2, 2, new ArrayList<Integer>(), true));
+        nodeInfo[c.getId()] = new NodeTuple(2, 2, new ArrayList<Integer>(), true);
         schedule.add(c);
         int expectedProcessor = 2;
 
-        processorAllocator.allocateProcessor(schedule, d);
-        int actualProcessor = nodeInfo.get(d.getName()).getProcessor();
+        processorAllocator.allocateProcessor(d.getId());
+        int actualProcessor = nodeInfo[d.getId()].getProcessor();
 
         assertEquals(expectedProcessor, actualProcessor);
         
-        nodeInfo.get(d.getName()).resetCheckedProcessors();
-=======
-        c.setProcessor(2);
-        c.setStartTime(2);
-        c.setHasRun(true);
-        schedule.add(c);
-        int expectedProcessor = 2;
-
-        processorAllocator.allocateProcessor(schedule, d, unavailableProcessors);
-        int actualProcessor = d.getProcessor();
-
-        assertEquals(expectedProcessor, actualProcessor);
->>>>>>> origin/master
+        nodeInfo[d.getId()].resetCheckedProcessors();
     }
 
     // Tests when it has the option to use either processor 1 or 2, and chooses the best one
@@ -174,23 +123,12 @@ public class ProcessorAllocatorTest {
     @Test
     public void allocateProcessorTest4() {
         // Assigns 'c' into the schedule
-<<<<<<< HEAD
-        nodeInfo.put(c.getName(), new NodeTuple(2, 2, new ArrayList<Integer>(), true));
-        schedule.add(c);
-        int expectedStartTime = 5;
-
-        processorAllocator.allocateProcessor(schedule, d);
-        int actualStartTime = nodeInfo.get(d.getName()).getStartTime();
-=======
-        c.setProcessor(2);
-        c.setStartTime(2);
-        c.setHasRun(true);
+        nodeInfo[c.getId()] = new NodeTuple(2, 2, new ArrayList<Integer>(), true);
         schedule.add(c);
         int expectedStartTime = 5;
 
-        processorAllocator.allocateProcessor(schedule, d, unavailableProcessors);
-        int actualStartTime = d.getStartTime();
->>>>>>> origin/master
+        processorAllocator.allocateProcessor(d.getId());
+        int actualStartTime = nodeInfo[d.getId()].getStartTime();
 
         assertEquals(expectedStartTime, actualStartTime);
     }
@@ -200,7 +138,7 @@ public class ProcessorAllocatorTest {
     public void findEarliestStartTimeTest1() {
         int expected = 2;
 
-        int actual = processorAllocator.findEarliestStartTime(schedule, c, 2);
+        int actual = processorAllocator.findEarliestStartTime(c.getId(), 2);
 
         assertEquals(expected, actual);
     }
@@ -210,7 +148,7 @@ public class ProcessorAllocatorTest {
     public void findEarliestStartTimeTest2() {
         int expected = 3;
 
-        int actual = processorAllocator.findEarliestStartTime(schedule, c, 1);
+        int actual = processorAllocator.findEarliestStartTime(c.getId(), 1);
 
         assertEquals(expected, actual);
     }
@@ -219,18 +157,35 @@ public class ProcessorAllocatorTest {
     @Test
     public void findEarliestStartTimeTest3() {
         // Assigns 'c' into the schedule
-<<<<<<< HEAD
-        nodeInfo.put(c.getName(), new NodeTuple(2, 2, new ArrayList<Integer>(), true));
-=======
-        c.setProcessor(2);
-        c.setStartTime(2);
-        c.setHasRun(true);
->>>>>>> origin/master
+        nodeInfo[c.getId()] = new NodeTuple(2, 2, new ArrayList<Integer>(), true);
         schedule.add(c);
         int expected = 6;
 
-        int actual = processorAllocator.findEarliestStartTime(schedule, d, 1);
+        int actual = processorAllocator.findEarliestStartTime(d.getId(), 1);
 
         assertEquals(expected, actual);
     }
+
+    // Tests that only the lowest empty processor is tried, the other empty processors mirror it
+    @Test
+    public void allocateProcessorEmptyMirrorTest() {
+        ProcessorAllocator threeProcessors = new ProcessorAllocator(3);
+        threeProcessors.addGraph(processorAllocator.graph);
+        threeProcessors.addNodeInfo(nodeInfo);
+        threeProcessors.addToProcessor(a.getId(), 1);
+        threeProcessors.addToProcessor(b.getId(), 1);
+
+        assertTrue(threeProcessors.allocateProcessor(c.getId()));
+        assertEquals(2, nodeInfo[c.getId()].getProcessor());
+        threeProcessors.removeFromProcessor(c.getId(), 2);
+
+        assertTrue(threeProcessors.allocateProcessor(c.getId()));
+        assertEquals(1, nodeInfo[c.getId()].getProcessor());
+        threeProcessors.removeFromProcessor(c.getId(), 1);
+
+        // Processor 3 is empty like processor 2, so there is nothing left to try
+        assertFalse(threeProcessors.allocateProcessor(c.getId()));
+
+        nodeInfo[c.getId()].resetCheckedProcessors();
+    }
 }
@@ -0,0 +1,57 @@
+package scheduler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ScheduleFingerprintTest {
+
+	@Test
+	public void testProcessorRelabellingMatches() {
+		// a at 0 and c at 3 on processor 1, b at 2 on processor 2
+		ScheduleFingerprint first = new ScheduleFingerprint(3);
+		first.toggle(0, 0, 1);
+		first.toggle(1, 2, 2);
+		first.toggle(2, 3, 1);
+
+		// The same schedule with processors 1 and 2 swapped, placed in a different order
+		ScheduleFingerprint second = new ScheduleFingerprint(3);
+		second.toggle(1, 2, 1);
+		second.toggle(0, 0, 2);
+		second.toggle(2, 3, 2);
+
+		assertEquals(first.getHash1(), second.getHash1());
+		assertEquals(first.getHash2(), second.getHash2());
+	}
+
+	@Test
+	public void testDifferentGroupingsAreDistinct() {
+		// a and b share a processor
+		ScheduleFingerprint first = new ScheduleFingerprint(2);
+		first.toggle(0, 0, 1);
+		first.toggle(1, 2, 1);
+
+		// a and b on separate processors at the same times
+		ScheduleFingerprint second = new ScheduleFingerprint(2);
+		second.toggle(0, 0, 1);
+		second.toggle(1, 2, 2);
+
+		assertNotEquals(first.getHash1(), second.getHash1());
+	}
+
+	@Test
+	public void testToggleRemovesPlacement() {
+		ScheduleFingerprint fingerprint = new ScheduleFingerprint(2);
+		fingerprint.toggle(0, 0, 1);
+		long hash1 = fingerprint.getHash1();
+		long hash2 = fingerprint.getHash2();
+
+		fingerprint.toggle(1, 2, 2);
+		fingerprint.toggle(1, 2, 2);
+		assertEquals(hash1, fingerprint.getHash1());
+		assertEquals(hash2, fingerprint.getHash2());
+
+		fingerprint.toggle(0, 0, 1);
+		assertEquals(0, fingerprint.getHash1());
+	}
+}
@@ -0,0 +1,46 @@
+package scheduler;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import inputoutput.InputReader;
+import models.Node;
+
+public class SearchAllocationTest {
+
+	@Test
+	public void testDepthFirstSearchDoesNotAllocate() throws IOException {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		InputReader reader = new InputReader();
+		reader.readFile(new File(System.getProperty("user.dir") + "/src/test/resources/dotfiles/input/Nodes_11_OutTree.dot"));
+		List<Node> nodes = reader.getNodeList();
+
+		DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(), new ProcessorAllocator(4));
+		scheduler.setTranspositionTableSize(1);
+		// Run once so every class the search touches is loaded
+		scheduler.createSchedule(nodes, reader.getEdgeList());
+
+		scheduler.initialiseSearch(nodes);
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		long overhead = threadBean.getThreadAllocatedBytes(threadId) - before;
+		before = threadBean.getThreadAllocatedBytes(threadId);
+		scheduler.search();
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+		assertEquals(0, allocated);
+		assertEquals(227, scheduler.bestBound);
+	}
+}
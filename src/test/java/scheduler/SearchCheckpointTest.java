@@ -0,0 +1,188 @@
+package scheduler;
+
+import inputoutput.InputReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SearchCheckpointTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("search", ".checkpoint");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testResumeAfterEveryStop() throws IOException {
+        InputReader reader = read("Nodes_10_Random.dot");
+
+        // Without the transposition table the search is the same however often it is stopped
+        SearchStatistics statistics = new SearchStatistics();
+        DepthFirst_BaB_Scheduler scheduler = createScheduler(4, statistics);
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        long expandedStates = statistics.getExpandedStates();
+        int length = scheduler.getScheduleLength();
+
+        // Each run is cancelled at its first check, as if a new process resumed the search each time
+        long resumedExpandedStates = 0;
+        int runs = 0;
+        do {
+            SearchCheckpoint checkpoint = new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS);
+            assertEquals(runs > 0, checkpoint.read());
+            scheduler = createScheduler(4, statistics);
+            scheduler.setCheckpoint(checkpoint);
+            scheduler.cancel();
+            scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+            resumedExpandedStates += statistics.getExpandedStates();
+            runs++;
+        } while (!scheduler.isOptimal());
+
+        assertTrue(runs > 2);
+        assertEquals(expandedStates, resumedExpandedStates);
+        assertEquals(length, scheduler.getScheduleLength());
+    }
+
+    @Test
+    public void testResumeFinishedSearch() throws IOException {
+        InputReader reader = read("Nodes_9_Stencil.dot");
+        DepthFirst_BaB_Scheduler scheduler = createScheduler(2, null);
+        scheduler.setCheckpoint(new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS));
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        int length = scheduler.getScheduleLength();
+
+        // Nothing is left to search, so the saved schedule is optimal straight away
+        SearchStatistics statistics = new SearchStatistics();
+        SearchCheckpoint checkpoint = new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS);
+        assertTrue(checkpoint.read());
+        scheduler = createScheduler(2, statistics);
+        scheduler.setCheckpoint(checkpoint);
+        scheduler.cancel();
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+
+        assertTrue(scheduler.isOptimal());
+        assertEquals(length, scheduler.getScheduleLength());
+        assertEquals(0, statistics.getExpandedStates());
+    }
+
+    @Test
+    public void testParallelPausesForCheckpoints() throws IOException {
+        InputReader reader = read("Nodes_11_OutTree.dot");
+
+        // Workers pause and hand back their work for a checkpoint every millisecond
+        MasterSchedulerInterface scheduler = MasterScheduler.getInstance(2, 4);
+        scheduler.setCheckpoint(new SearchCheckpoint(file, 1));
+        try {
+            scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        } finally {
+            scheduler.setCheckpoint(null);
+        }
+        assertTrue(scheduler.isOptimal());
+        assertEquals(227, scheduler.getScheduleLength());
+
+        // The last checkpoint is of the finished search
+        SearchCheckpoint checkpoint = new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS);
+        assertTrue(checkpoint.read());
+        assertTrue(checkpoint.getSavedStacks().isEmpty());
+        assertEquals(227, checkpoint.getSavedLength());
+    }
+
+    @Test
+    public void testParallelResumesSequentialCheckpoint() throws IOException {
+        InputReader reader = read("Nodes_11_OutTree.dot");
+        DepthFirst_BaB_Scheduler sequential = createScheduler(4, null);
+        sequential.setCheckpoint(new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS));
+        sequential.cancel();
+        sequential.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        assertFalse(sequential.isOptimal());
+
+        SearchCheckpoint checkpoint = new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS);
+        assertTrue(checkpoint.read());
+        assertEquals(1, checkpoint.getSavedStacks().size());
+        MasterSchedulerInterface scheduler = MasterScheduler.getInstance(2, 4);
+        scheduler.setCheckpoint(checkpoint);
+        try {
+            scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        } finally {
+            scheduler.setCheckpoint(null);
+        }
+        assertTrue(scheduler.isOptimal());
+        assertEquals(227, scheduler.getScheduleLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherNumberOfProcessorsRejected() throws IOException {
+        InputReader reader = read("Nodes_10_Random.dot");
+        DepthFirst_BaB_Scheduler scheduler = createScheduler(4, null);
+        scheduler.setCheckpoint(new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS));
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+
+        SearchCheckpoint checkpoint = new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS);
+        checkpoint.read();
+        scheduler = createScheduler(2, null);
+        scheduler.setCheckpoint(checkpoint);
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+    }
+
+    @Test
+    public void testCorruptCountsRejected() throws IOException {
+        InputReader reader = read("Nodes_10_Random.dot");
+        DepthFirst_BaB_Scheduler scheduler = createScheduler(4, null);
+        scheduler.setCheckpoint(new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS));
+        scheduler.cancel();
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        byte[] saved = Files.readAllBytes(file.toPath());
+
+        // The number of nodes follows the magic number, version and graph hash
+        for (int numNodes : new int[]{-1, Integer.MAX_VALUE}) {
+            ByteBuffer.wrap(saved).putInt(16, numNodes);
+            Files.write(file.toPath(), saved);
+            try {
+                new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS).read();
+                fail();
+            } catch (IOException expected) {
+            }
+        }
+
+        // The number of levels of the only stack follows the saved schedule and the number of stacks
+        ByteBuffer.wrap(saved).putInt(16, 10);
+        ByteBuffer.wrap(saved).putInt(28 + 10 * 8 + 4, 11);
+        Files.write(file.toPath(), saved);
+        try {
+            new SearchCheckpoint(file, SearchCheckpoint.DEFAULT_INTERVAL_MILLIS).read();
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    private static DepthFirst_BaB_Scheduler createScheduler(int numProcessors, SearchStatistics statistics) {
+        DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(),
+                new ProcessorAllocator(numProcessors));
+        scheduler.setTranspositionTableSize(0);
+        scheduler.setStatistics(statistics);
+        return scheduler;
+    }
+
+    private static InputReader read(String fileName) throws IOException {
+        InputReader reader = new InputReader();
+        reader.readFile(new File(System.getProperty("user.dir") + "/src/test/resources/dotfiles/input/" + fileName));
+        return reader;
+    }
+}
@@ -0,0 +1,111 @@
+package scheduler;
+
+import inputoutput.InputReader;
+import models.Edge;
+import models.Node;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SearchLimitTest {
+
+    @Test
+    public void testNoLimit() throws InterruptedException {
+        SearchLimit searchLimit = new SearchLimit(0);
+        Thread.sleep(5);
+        assertFalse(searchLimit.isReached());
+        assertFalse(searchLimit.wasReached());
+    }
+
+    @Test
+    public void testDeadlinePassed() throws InterruptedException {
+        SearchLimit searchLimit = new SearchLimit(1);
+        assertFalse(searchLimit.wasReached());
+        Thread.sleep(5);
+        assertTrue(searchLimit.isReached());
+        assertTrue(searchLimit.wasReached());
+    }
+
+    @Test
+    public void testCancel() {
+        SearchLimit searchLimit = new SearchLimit(0);
+        searchLimit.cancel();
+        // Only a search checking the limit counts as having stopped because of it
+        assertFalse(searchLimit.wasReached());
+        assertTrue(searchLimit.isReached());
+        assertTrue(searchLimit.wasReached());
+    }
+
+    @Test
+    public void testCancelledBeforeStart() throws IOException {
+        InputReader reader = new InputReader();
+        reader.readFile(new File(System.getProperty("user.dir") + "/src/test/resources/dotfiles/input/Nodes_11_OutTree.dot"));
+
+        DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(), new ProcessorAllocator(4));
+        scheduler.cancel();
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+
+        // Stops at its first check with the best schedule so far
+        assertFalse(scheduler.isOptimal());
+        assertNotNull(scheduler.getSchedule());
+        assertTrue(scheduler.getLowerBound() <= scheduler.getScheduleLength());
+
+        // The cancellation only applies to one search
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        assertTrue(scheduler.isOptimal());
+        assertEquals(227, scheduler.getScheduleLength());
+    }
+
+    @Test
+    public void testParallelCancelledBeforeStart() throws IOException {
+        InputReader reader = new InputReader();
+        reader.readFile(new File(System.getProperty("user.dir") + "/src/test/resources/dotfiles/input/Nodes_11_OutTree.dot"));
+
+        MasterSchedulerInterface scheduler = MasterScheduler.getInstance(2, 4);
+        scheduler.cancel();
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+
+        assertFalse(scheduler.isOptimal());
+        assertNotNull(scheduler.getSchedule());
+        assertTrue(scheduler.getLowerBound() <= scheduler.getScheduleLength());
+    }
+
+    @Test
+    // A -> B; A -> C, finishes well within the limit so the schedule is proven optimal
+    public void testFinishedWithinLimit() {
+        Node a = new Node("a", 2);
+        Node b = new Node("b", 3);
+        Node c = new Node("c", 3);
+        Edge ab = new Edge(a, b, 1);
+        Edge ac = new Edge(a, c, 1);
+        a.addOutgoingEdge(ab);
+        a.addOutgoingEdge(ac);
+        b.addIncomingEdge(ab);
+        c.addIncomingEdge(ac);
+
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(a);
+        nodes.add(b);
+        nodes.add(c);
+        List<Edge> edges = new ArrayList<Edge>();
+        edges.add(ab);
+        edges.add(ac);
+
+        DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(), new ProcessorAllocator(2));
+        scheduler.setTimeLimit(60000);
+        scheduler.createSchedule(nodes, edges);
+
+        assertTrue(scheduler.isOptimal());
+        assertEquals(6, scheduler.getScheduleLength());
+        assertEquals(6, scheduler.getLowerBound());
+    }
+}
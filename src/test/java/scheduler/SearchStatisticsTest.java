@@ -0,0 +1,88 @@
+package scheduler;
+
+import inputoutput.InputReader;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SearchStatisticsTest {
+
+    InputReader reader;
+
+    @Before
+    public void init() throws IOException {
+        reader = new InputReader();
+        reader.readFile(new File(System.getProperty("user.dir") + "/src/test/resources/dotfiles/input/Nodes_10_Random.dot"));
+    }
+
+    @Test
+    public void testDepthFirstCounts() {
+        SearchStatistics statistics = new SearchStatistics();
+        DepthFirst_BaB_Scheduler scheduler = new DepthFirst_BaB_Scheduler(new ValidNodeFinder(), new ProcessorAllocator(2));
+        scheduler.setStatistics(statistics);
+        scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+
+        int numNodes = reader.getNodeList().size();
+        // Every complete schedule passed the prunes on its last placement
+        assertEquals(statistics.getCompleteSchedules(), statistics.getExpandedStates(numNodes));
+        assertTrue(statistics.getExpandedStates() > statistics.getCompleteSchedules());
+        assertTrue(statistics.getMakespanPrunes() > 0);
+        assertTrue(statistics.getLowerBoundPrunes() > 0);
+        // The list schedule and at least one shorter schedule found by the search
+        assertTrue(statistics.getNumberImprovements() >= 2);
+
+        String json = statistics.toJson();
+        assertTrue(json.contains("\"expandedStatesPerLevel\": ["));
+        assertTrue(json.contains("\"length\": " + scheduler.getScheduleLength() + "}]"));
+    }
+
+    @Test
+    public void testParallelWorkers() {
+        SearchStatistics statistics = new SearchStatistics();
+        MasterSchedulerInterface scheduler = MasterScheduler.getInstance(2, 2);
+        scheduler.setStatistics(statistics);
+        try {
+            scheduler.createSchedule(reader.getNodeList(), reader.getEdgeList());
+        } finally {
+            scheduler.setStatistics(null);
+        }
+
+        assertTrue(statistics.getExpandedStates() > 0);
+        assertTrue(statistics.getCompleteSchedules() > 0);
+        // Every worker of the pool is reported, whether or not it got any work
+        String json = statistics.toJson();
+        assertTrue(json.contains("\"workers\": ["));
+        assertTrue(json.contains("{\"worker\": 1, "));
+        assertTrue(json.contains("{\"worker\": 2, "));
+    }
+
+    @Test
+    public void testEachWorkerThreadHasItsOwnEntry() throws InterruptedException {
+        final SearchStatistics statistics = new SearchStatistics();
+        statistics.start(1, 2);
+
+        // A third thread, as when the pool replaces an idle worker, is added rather than sharing an entry
+        for (int i = 0; i < 3; i++) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    statistics.addWorkTime(0);
+                }
+            });
+            worker.start();
+            worker.join();
+        }
+        statistics.finish();
+
+        String json = statistics.toJson();
+        assertTrue(json.contains("{\"worker\": 3, "));
+        assertFalse(json.contains("{\"worker\": 4, "));
+    }
+}
@@ -0,0 +1,51 @@
+package scheduler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+	@Test
+	public void testPlacementOrderDoesNotMatter() {
+		// a at 0 on processor 1, then b at 2 on processor 2
+		long first1 = TranspositionTable.hash1(0, 0, 1) ^ TranspositionTable.hash1(1, 2, 2);
+		long first2 = TranspositionTable.hash2(0, 0, 1) ^ TranspositionTable.hash2(1, 2, 2);
+		// The same placements made in the opposite order
+		long second1 = TranspositionTable.hash1(1, 2, 2) ^ TranspositionTable.hash1(0, 0, 1);
+		long second2 = TranspositionTable.hash2(1, 2, 2) ^ TranspositionTable.hash2(0, 0, 1);
+
+		TranspositionTable table = new TranspositionTable(1);
+		assertTrue(table.addIfAbsent(first1, first2));
+		assertFalse(table.addIfAbsent(second1, second2));
+	}
+
+	@Test
+	public void testDifferentPlacementsAreDistinct() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertTrue(table.addIfAbsent(TranspositionTable.hash1(0, 0, 1), TranspositionTable.hash2(0, 0, 1)));
+		assertTrue(table.addIfAbsent(TranspositionTable.hash1(0, 0, 2), TranspositionTable.hash2(0, 0, 2)));
+		assertTrue(table.addIfAbsent(TranspositionTable.hash1(0, 1, 1), TranspositionTable.hash2(0, 1, 1)));
+	}
+
+	@Test
+	public void testMemoryCap() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertEquals((1 << 20) / 16, table.getCapacity());
+
+		// Filling well past capacity evicts entries rather than growing
+		for (int i = 0; i < table.getCapacity() * 2; i++) {
+			table.addIfAbsent(TranspositionTable.hash1(i, 0, 1), TranspositionTable.hash2(i, 0, 1));
+		}
+		assertEquals((1 << 20) / 16, table.getCapacity());
+	}
+
+	@Test
+	public void testClear() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertTrue(table.addIfAbsent(TranspositionTable.hash1(0, 0, 1), TranspositionTable.hash2(0, 0, 1)));
+		table.clear();
+		assertTrue(table.addIfAbsent(TranspositionTable.hash1(0, 0, 1), TranspositionTable.hash2(0, 0, 1)));
+		assertFalse(table.addIfAbsent(TranspositionTable.hash1(0, 0, 1), TranspositionTable.hash2(0, 0, 1)));
+	}
+}
@@ -3,10 +3,6 @@ package scheduler;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
-<<<<<<< HEAD
-import java.util.HashMap;
-=======
->>>>>>> origin/master
 import java.util.List;
 
 import org.junit.Before;
@@ -14,20 +10,15 @@ import org.junit.Test;
 
 import models.Edge;
 import models.Node;
-<<<<<<< HEAD
 import models.NodeTuple;
-=======
->>>>>>> origin/master
+import models.TaskGraph;
 import scheduler.ValidNodeFinder;
 
 public class ValidNodeFinderTest {
 	Node a, b, c, x;
 	List<Node> nodes;
 	ValidNodeFinder vnf;
-<<<<<<< HEAD
-	HashMap<String, NodeTuple> nodeInfo = new HashMap<String, NodeTuple>();
-=======
->>>>>>> origin/master
+	NodeTuple[] nodeInfo = new NodeTuple[4];
 	
 	@Before
 	// A, X --> B --> C
@@ -50,11 +41,13 @@ public class ValidNodeFinderTest {
 		nodes.add(c);
 		nodes.add(x);
 		
+		for (int i = 0; i < nodeInfo.length; i++) {
+			nodeInfo[i] = new NodeTuple();
+		}
+		
 		vnf = new ValidNodeFinder();
-<<<<<<< HEAD
+		vnf.addGraph(new TaskGraph(nodes));
 		vnf.addNodeInfo(nodeInfo);
-=======
->>>>>>> origin/master
 	}
 	
 	@Test
@@ -63,56 +56,42 @@ public class ValidNodeFinderTest {
 		expected.add(a);
 		expected.add(x);
 
-		List<Node> actual = vnf.findRootNodes(nodes);
+		List<Node> actual = vnf.findRootNodes();
 		
 		assertEquals(expected, actual);
 	}
 
 	@Test
 	public void testFindSatisfiedChildren() {
-<<<<<<< HEAD
-		nodeInfo.put(a.getName(), new NodeTuple());
-		nodeInfo.put(b.getName(), new NodeTuple());
-		nodeInfo.put(c.getName(), new NodeTuple());
-		nodeInfo.put(x.getName(), new NodeTuple());
-		
-=======
->>>>>>> origin/master
+		nodeInfo[a.getId()] = new NodeTuple();
+		nodeInfo[b.getId()] = new NodeTuple();
+		nodeInfo[c.getId()] = new NodeTuple();
+		nodeInfo[x.getId()] = new NodeTuple();
+		
 		// Should be empty initially
 		List<Node> expected = new ArrayList<Node>();
-		List<Node> actual = vnf.findSatisfiedChildren(a);
+		List<Node> actual = vnf.findSatisfiedChildren(a.getId());
 		assertEquals(expected, actual);
 		
 		// Should still be empty because node x has not been completed
-<<<<<<< HEAD
-		nodeInfo.put(a.getName(), new NodeTuple(0, 0, new ArrayList<Integer>(), true));
-=======
-		a.setHasRun(true);
->>>>>>> origin/master
-		actual = vnf.findSatisfiedChildren(a);
+		nodeInfo[a.getId()] = new NodeTuple(0, 0, new ArrayList<Integer>(), true);
+		actual = vnf.findSatisfiedChildren(a.getId());
 		assertEquals(expected, actual);
 		
 		// Should contain node b as now both node a and x are complete
-<<<<<<< HEAD
-		nodeInfo.put(x.getName(), new NodeTuple(0, 0, new ArrayList<Integer>(), true));
-=======
-		x.setHasRun(true);
->>>>>>> origin/master
+		nodeInfo[x.getId()] = new NodeTuple(0, 0, new ArrayList<Integer>(), true);
 		expected.add(b);
-		actual = vnf.findSatisfiedChildren(a);
+		actual = vnf.findSatisfiedChildren(a.getId());
 		assertEquals(expected, actual);
 	}
 	
 	@Test
 	public void testFindSatisfiedNodes() {
-<<<<<<< HEAD
-		nodeInfo.put(a.getName(), new NodeTuple());
-		nodeInfo.put(b.getName(), new NodeTuple());
-		nodeInfo.put(c.getName(), new NodeTuple());
-		nodeInfo.put(x.getName(), new NodeTuple());
-		
-=======
->>>>>>> origin/master
+		nodeInfo[a.getId()] = new NodeTuple();
+		nodeInfo[b.getId()] = new NodeTuple();
+		nodeInfo[c.getId()] = new NodeTuple();
+		nodeInfo[x.getId()] = new NodeTuple();
+		
 		List<Node> expected = new ArrayList<Node>();
 		List<Node> inputList = new ArrayList<Node>();
 		inputList.add(a);
@@ -120,19 +99,193 @@ public class ValidNodeFinderTest {
 		inputList.add(c);
 		inputList.add(x);
 		
-<<<<<<< HEAD
-		nodeInfo.put(a.getName(), new NodeTuple(0, 0, new ArrayList<Integer>(), true));
-		nodeInfo.put(x.getName(), new NodeTuple(0, 0, new ArrayList<Integer>(), true));
-=======
-		a.setHasRun(true);
-		x.setHasRun(true);
->>>>>>> origin/master
+		nodeInfo[a.getId()] = new NodeTuple(0, 0, new ArrayList<Integer>(), true);
+		nodeInfo[x.getId()] = new NodeTuple(0, 0, new ArrayList<Integer>(), true);
+		vnf.addNodeInfo(nodeInfo);
 		
 		// b has been satisfied as a and x have run
 		expected.add(b);
 		
-		List<Node> actual = vnf.findSatisfiedNodes(inputList);
+		List<Node> actual = vnf.findSatisfiedNodes();
 		
 		assertEquals(expected,actual);
 	}
+	
+	@Test
+	public void testScheduledNodeUpdates() {
+		// Only the roots are ready initially
+		List<Node> actual = vnf.findSatisfiedNodes();
+		assertEquals(2, actual.size());
+		assertTrue(actual.contains(a));
+		assertTrue(actual.contains(x));
+		
+		// b still waits on x
+		vnf.addScheduledNode(a.getId());
+		actual = vnf.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(x));
+		
+		vnf.addScheduledNode(x.getId());
+		actual = vnf.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(b));
+		assertEquals(1, vnf.getNumberReadyNodes());
+		assertEquals(b.getId(), vnf.getReadyNode(0));
+		
+		// Backtracking restores the previous ready set
+		vnf.removeScheduledNode(x.getId());
+		actual = vnf.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(x));
+		
+		vnf.removeScheduledNode(a.getId());
+		actual = vnf.findSatisfiedNodes();
+		assertEquals(2, actual.size());
+		assertTrue(actual.contains(a));
+		assertTrue(actual.contains(x));
+	}
+	
+	@Test
+	public void testEquivalentNodesInOrder() {
+		// Y and Z are identical roots of D, so Z waits for Y
+		Node y = new Node("y", 2);
+		Node z = new Node("z", 2);
+		Node d = new Node("d", 1);
+		Edge yd = new Edge(y, d, 1);
+		Edge zd = new Edge(z, d, 1);
+		y.addOutgoingEdge(yd);
+		z.addOutgoingEdge(zd);
+		d.addIncomingEdge(yd);
+		d.addIncomingEdge(zd);
+		
+		List<Node> equivalentNodes = new ArrayList<Node>();
+		equivalentNodes.add(y);
+		equivalentNodes.add(z);
+		equivalentNodes.add(d);
+		NodeTuple[] equivalentInfo = new NodeTuple[3];
+		for (int i = 0; i < equivalentInfo.length; i++) {
+			equivalentInfo[i] = new NodeTuple();
+		}
+		
+		ValidNodeFinder finder = new ValidNodeFinder();
+		finder.addGraph(new TaskGraph(equivalentNodes));
+		finder.addNodeInfo(equivalentInfo);
+		
+		// Both are roots, but only the first of the class is ready
+		List<Node> actual = finder.findRootNodes();
+		assertEquals(2, actual.size());
+		assertTrue(actual.contains(y));
+		assertTrue(actual.contains(z));
+		actual = finder.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(y));
+		
+		equivalentInfo[y.getId()].setHasRun(true);
+		finder.addScheduledNode(y.getId());
+		actual = finder.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(z));
+		
+		equivalentInfo[y.getId()].setHasRun(false);
+		finder.removeScheduledNode(y.getId());
+		actual = finder.findSatisfiedNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(y));
+	}
+	
+	@Test
+	public void testFixedOrderOfFork() {
+		// F --> G, H, I with communication costs 3, 1 and 2
+		Node f = new Node("f", 1);
+		Node g = new Node("g", 2);
+		Node h = new Node("h", 2);
+		Node i = new Node("i", 2);
+		Edge fg = new Edge(f, g, 3);
+		Edge fh = new Edge(f, h, 1);
+		Edge fi = new Edge(f, i, 2);
+		f.addOutgoingEdge(fg);
+		f.addOutgoingEdge(fh);
+		f.addOutgoingEdge(fi);
+		g.addIncomingEdge(fg);
+		h.addIncomingEdge(fh);
+		i.addIncomingEdge(fi);
+		
+		List<Node> forkNodes = new ArrayList<Node>();
+		forkNodes.add(f);
+		forkNodes.add(g);
+		forkNodes.add(h);
+		forkNodes.add(i);
+		NodeTuple[] forkInfo = new NodeTuple[4];
+		for (int n = 0; n < forkInfo.length; n++) {
+			forkInfo[n] = new NodeTuple();
+		}
+		
+		ValidNodeFinder finder = new ValidNodeFinder();
+		finder.addGraph(new TaskGraph(forkNodes));
+		finder.addNodeInfo(forkInfo);
+		
+		forkInfo[f.getId()] = new NodeTuple(0, 1, new ArrayList<Integer>(), true);
+		finder.addScheduledNode(f.getId());
+		assertEquals(3, finder.findSatisfiedNodes().size());
+		
+		// H has the earliest data ready time, so it is the only one branched on
+		List<Node> actual = finder.findSchedulableNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(h));
+		
+		// The order continues with I then G
+		forkInfo[h.getId()] = new NodeTuple(2, 2, new ArrayList<Integer>(), true);
+		finder.addScheduledNode(h.getId());
+		actual = finder.findSchedulableNodes();
+		assertEquals(1, actual.size());
+		assertTrue(actual.contains(i));
+	}
+	
+	@Test
+	public void testFixedOrderOfJoin() {
+		// Roots A and X both only lead to B at no cost, so only one of them is branched on
+		assertEquals(2, vnf.findSatisfiedNodes().size());
+		assertEquals(1, vnf.findSchedulableNodes().size());
+	}
+	
+	@Test
+	public void testNoFixedOrderWithDifferentChildren() {
+		// P --> Q, R with Q --> S and R --> T
+		Node p = new Node("p", 1);
+		Node q = new Node("q", 2);
+		Node r = new Node("r", 2);
+		Node s = new Node("s", 1);
+		Node t = new Node("t", 1);
+		Edge pq = new Edge(p, q, 1);
+		Edge pr = new Edge(p, r, 1);
+		Edge qs = new Edge(q, s, 1);
+		Edge rt = new Edge(r, t, 2);
+		p.addOutgoingEdge(pq);
+		p.addOutgoingEdge(pr);
+		q.addIncomingEdge(pq);
+		r.addIncomingEdge(pr);
+		q.addOutgoingEdge(qs);
+		r.addOutgoingEdge(rt);
+		s.addIncomingEdge(qs);
+		t.addIncomingEdge(rt);
+		
+		List<Node> treeNodes = new ArrayList<Node>();
+		treeNodes.add(p);
+		treeNodes.add(q);
+		treeNodes.add(r);
+		treeNodes.add(s);
+		treeNodes.add(t);
+		NodeTuple[] treeInfo = new NodeTuple[5];
+		for (int n = 0; n < treeInfo.length; n++) {
+			treeInfo[n] = new NodeTuple();
+		}
+		
+		ValidNodeFinder finder = new ValidNodeFinder();
+		finder.addGraph(new TaskGraph(treeNodes));
+		finder.addNodeInfo(treeInfo);
+		
+		treeInfo[p.getId()] = new NodeTuple(0, 1, new ArrayList<Integer>(), true);
+		finder.addScheduledNode(p.getId());
+		assertEquals(2, finder.findSchedulableNodes().size());
+	}
 }
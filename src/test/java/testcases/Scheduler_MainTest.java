@@ -0,0 +1,169 @@
+package testcases;
+
+import main.Main;
+import models.Edge;
+import models.Node;
+import models.NodeTuple;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Runs every scheduler end to end through Main on the test graphs, checking the schedule is valid
+ * and of the optimal length.
+ */
+@RunWith(Parameterized.class)
+public class Scheduler_MainTest {
+
+    // Scheduler name and the flags choosing it
+    private static final Object[][] SCHEDULERS = {
+            {"DepthFirst_BaB", new String[]{}},
+            {"AStar", new String[]{"-a"}},
+            {"IDAStar", new String[]{"-i"}},
+    };
+
+    // Input graph, number of processors and optimal schedule length
+    private static final Object[][] GRAPHS = {
+            {"1_processor_simple", "4", 10},
+            {"2_processor_simple", "4", 6},
+            {"4_processor_1_src_1_dest", "4", 10},
+            {"4_processor_1_src_3_dest", "4", 14},
+            {"4_processor_3_src_1_dest", "4", 9},
+            {"4_processor_3_src_2_dest", "4", 10},
+            {"Nodes_7_OutTree", "2", 28},
+            {"Nodes_7_OutTree", "4", 22},
+            {"Nodes_8_Random", "2", 581},
+            {"Nodes_8_Random", "4", 581},
+            {"Nodes_9_SeriesParallel", "2", 55},
+            {"Nodes_9_SeriesParallel", "4", 55},
+            {"Nodes_10_Random", "2", 50},
+            {"Nodes_10_Random", "4", 50},
+            {"Nodes_11_OutTree", "2", 350},
+            {"Nodes_11_OutTree", "4", 227},
+    };
+
+    @Parameters(name = "{0} {1} on {2} processors")
+    public static Collection<Object[]> data() {
+        List<Object[]> data = new ArrayList<Object[]>();
+        for (Object[] scheduler : SCHEDULERS) {
+            for (Object[] graph : GRAPHS) {
+                data.add(new Object[]{scheduler[0], graph[0], graph[1], scheduler[1], graph[2]});
+            }
+        }
+        return data;
+    }
+
+    @Rule
+    public TemporaryFolder outputFolder = new TemporaryFolder();
+
+    private final String graphName;
+    private final String numProcessors;
+    private final String[] flags;
+    private final int expectedEndTime;
+
+    String dir;
+
+    public Scheduler_MainTest(String schedulerName, String graphName, String numProcessors, String[] flags,
+                              int expectedEndTime) {
+        this.graphName = graphName;
+        this.numProcessors = numProcessors;
+        this.flags = flags;
+        this.expectedEndTime = expectedEndTime;
+    }
+
+    @Before
+    public void setUp() {
+        String workingDir = System.getProperty("user.dir");
+        dir = ".";
+
+        if (workingDir.length() > 0 && workingDir.contains("src")) {
+            dir = workingDir.substring(0, workingDir.indexOf(File.separator + "src"));
+        }
+    }
+
+    @Test
+    public void optimalScheduleTest() {
+        List<String> args = new ArrayList<String>();
+        args.add(dir + "/src/test/resources/dotfiles/input/" + graphName + ".dot");
+        args.add(numProcessors);
+        args.addAll(Arrays.asList(flags));
+        args.add("-o");
+        args.add(new File(outputFolder.getRoot(), graphName + "-output").getAbsolutePath());
+
+        Main.main(args.toArray(new String[args.size()]));
+        HashMap<String, NodeTuple> optimalSchedule = Main.getOptimalSchedule();
+        List<Node> nodeList = Main.getNodeList();
+        int latestEndTime = endToEndCheck(nodeList, optimalSchedule);
+        // Compare optimal time with calculated time
+        assertEquals(expectedEndTime, latestEndTime);
+    }
+
+    public int endToEndCheck(List<Node> nodeList, HashMap<String, NodeTuple> optimalInfo) {
+        int latestEndTime = 0;
+
+        for (Node node : nodeList) {
+
+            // Determine end time(duration) of schedule
+            int currentEndTime = optimalInfo.get(node.getName()).getStartTime() + node.getWeight();
+            if (currentEndTime > latestEndTime) {
+                latestEndTime = currentEndTime;
+            }
+
+            List<Edge> incomingEdges = node.getIncomingEdges();
+            for (Edge edge : incomingEdges) {
+                Node startNode = edge.getStartNode();
+                int startNodeProcessor = optimalInfo.get(startNode.getName()).getProcessor();
+                int currentNodeProcessor = optimalInfo.get(node.getName()).getProcessor();
+                int dependencySatisfiedTime;
+
+                // Determine time dependency is completed
+                // If node in same processor ignore communication weight
+                if (startNodeProcessor == currentNodeProcessor) {
+                    dependencySatisfiedTime = optimalInfo.get(startNode.getName()).getStartTime() + startNode.getWeight();
+                } else {
+                    dependencySatisfiedTime = optimalInfo.get(startNode.getName()).getStartTime() + startNode.getWeight() + edge.getWeight();
+                }
+
+                // If task starts before dependencies are completed, fail
+                if (optimalInfo.get(node.getName()).getStartTime() < dependencySatisfiedTime) {
+                    fail();
+                }
+
+            }
+
+            int startTime = optimalInfo.get(node.getName()).getStartTime();
+            int endTime = startTime + node.getWeight();
+
+            // Checks for overlaps in tasks
+            // Compare with every other node whether they start during the
+            // processing of this node, on same processor
+            for (Node node2 : nodeList) {
+                // Ignore comparison with self(same node)
+                if (node2 != node) {
+                    if (optimalInfo.get(node2.getName()).getProcessor() == optimalInfo.get(node.getName()).getProcessor()) {
+                        int node2StartTime = optimalInfo.get(node2.getName()).getStartTime();
+                        if ((node2StartTime > startTime) && (node2StartTime < endTime)) {
+                            fail();
+                        }
+                    }
+                }
+            }
+        }
+
+        return latestEndTime;
+    }
+}